@@ -0,0 +1,148 @@
+package com.splitpro.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.GroupLedger;
+import com.splitpro.repository.FriendRepository;
+import com.splitpro.repository.GroupLedgerRepository;
+import com.splitpro.repository.GroupRepository;
+import com.splitpro.service.BalanceService;
+import com.splitpro.service.FriendService;
+import com.splitpro.service.GroupLedgerService;
+
+/**
+ * GET /api/balances: friend balances, group summaries and group ledgers read in three
+ * queries, then totalled. Repositories are in-memory stubs that charge a fixed latency
+ * per round trip, so the 0 µs case is the in-process cost alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BalanceServiceBenchmark {
+
+    @Param({"20", "500"})
+    private int friends;
+
+    @Param({"20"})
+    private int groups;
+
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private static final String USER_ID = "user-0";
+
+    private BalanceService balanceService;
+
+    @Setup
+    public void setUp() {
+        List<ExpenseDTOs.FriendResponse> friendResponses = new ArrayList<>(friends);
+        for (int i = 1; i <= friends; i++) {
+            friendResponses.add(ExpenseDTOs.FriendResponse.builder()
+                    .id("friendship-" + i)
+                    .friendId("user-" + i)
+                    .friendName("User " + i)
+                    .friendEmail("user" + i + "@splitpro.com")
+                    // Mix of positive, negative and settled balances
+                    .balance(BigDecimal.valueOf((i % 3 - 1) * (i * 137L % 10_000), 2))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+
+        List<GroupRepository.GroupSummary> summaries = new ArrayList<>(groups);
+        Map<String, GroupLedger> ledgers = new HashMap<>();
+        for (int i = 0; i < groups; i++) {
+            String groupId = "group-" + i;
+            summaries.add(new GroupRepository.GroupSummary(groupId, "Group " + i, null, USER_ID,
+                    LocalDateTime.now(), List.of(new GroupRepository.MemberRef(USER_ID, true))));
+            Map<String, BigDecimal> balances = new HashMap<>();
+            balances.put(USER_ID, BigDecimal.valueOf(i * 1_234L - 10_000, 2));
+            ledgers.put(groupId, GroupLedger.builder().groupId(groupId).balances(balances).build());
+        }
+
+        FriendService friendService = new FriendService(friendRepository(friendResponses), null, null, event -> { });
+        GroupLedgerService groupLedgerService = new GroupLedgerService(groupLedgerRepository(ledgers),
+                groupRepository(summaries), null, null);
+        balanceService = new BalanceService(friendService, groupLedgerService);
+    }
+
+    @Benchmark
+    public ExpenseDTOs.BalanceResponse getUserBalances() {
+        return balanceService.getUserBalances(USER_ID);
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(roundTripMicros * 1_000);
+        }
+    }
+
+    private FriendRepository friendRepository(List<ExpenseDTOs.FriendResponse> friendResponses) {
+        return (FriendRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {FriendRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserIdAndActiveTrue" -> {
+                        roundTrip();
+                        yield friendResponses;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private GroupRepository groupRepository(List<GroupRepository.GroupSummary> summaries) {
+        return (GroupRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {GroupRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findSummariesByMemberUserId" -> {
+                        roundTrip();
+                        yield summaries;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private GroupLedgerRepository groupLedgerRepository(Map<String, GroupLedger> ledgers) {
+        return (GroupLedgerRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {GroupLedgerRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllById" -> {
+                        roundTrip();
+                        List<GroupLedger> found = new ArrayList<>();
+                        ((Iterable<?>) args[0]).forEach(id -> {
+                            if (ledgers.containsKey(id)) {
+                                found.add(ledgers.get(id));
+                            }
+                        });
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
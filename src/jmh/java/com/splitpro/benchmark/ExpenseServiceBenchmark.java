@@ -0,0 +1,174 @@
+package com.splitpro.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+import com.splitpro.model.User;
+import com.splitpro.repository.ExpenseRepository;
+import com.splitpro.repository.FriendRepository;
+import com.splitpro.repository.GroupLedgerRepository;
+import com.splitpro.repository.UserRepository;
+import com.splitpro.service.ExpenseService;
+import com.splitpro.service.FriendService;
+import com.splitpro.service.GroupLedgerService;
+import com.splitpro.service.UserCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CPU cost of the expense write and read paths: createExpense (participant lookup
+ * from a warm user cache, split calculation, balance deltas) with repositories that
+ * return immediately, and the response mapping and balance check done for every
+ * expense listed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpenseServiceBenchmark {
+
+    @Param({"2", "20", "500"})
+    private int participants;
+
+    private ExpenseService expenseService;
+    private ExpenseDTOs.CreateExpenseRequest request;
+    private Expense expense;
+    private String payerId;
+
+    @Setup
+    public void setUp() {
+        Map<String, User> users = new HashMap<>();
+        List<ExpenseDTOs.SplitRequest> splits = new ArrayList<>(participants);
+        for (int i = 0; i < participants; i++) {
+            User user = User.builder()
+                    .id("user-" + i)
+                    .name("User " + i)
+                    .email("user" + i + "@splitpro.com")
+                    .passwordHash("unused")
+                    .build();
+            users.put(user.getId(), user);
+
+            ExpenseDTOs.SplitRequest split = new ExpenseDTOs.SplitRequest();
+            split.setUserId(user.getId());
+            split.setSplitType(Expense.SplitType.EQUAL);
+            splits.add(split);
+        }
+        payerId = "user-0";
+        request = ExpenseDTOs.CreateExpenseRequest.builder()
+                .description("Benchmark dinner")
+                .totalAmount(new BigDecimal("1234.56"))
+                .currency("USD")
+                .splits(splits)
+                .build();
+
+        UserRepository userRepository = userRepository(users);
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userCache, "ttlMillis", 600_000L);
+        userCache.init();
+        userCache.findAllById(users.keySet());
+
+        FriendService friendService = new FriendService(friendRepository(), userRepository, userCache, event -> { });
+        GroupLedgerService groupLedgerService = new GroupLedgerService(groupLedgerRepository(), null, null, null);
+        expenseService = new ExpenseService(expenseRepository(), userCache, null, friendService, groupLedgerService,
+                event -> { });
+        expense = expenseService.createExpense(payerId, request);
+    }
+
+    @Benchmark
+    public Expense createExpense() {
+        return expenseService.createExpense(payerId, request);
+    }
+
+    @Benchmark
+    public ExpenseDTOs.ExpenseResponse toExpenseResponse() {
+        return expenseService.toExpenseResponse(expense);
+    }
+
+    @Benchmark
+    public boolean isBalanced() {
+        return expense.isBalanced();
+    }
+
+    private static UserRepository userRepository(Map<String, User> users) {
+        return (UserRepository) Proxy.newProxyInstance(ExpenseServiceBenchmark.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(users.get((String) args[0]));
+                    case "findAllById" -> {
+                        List<User> found = new ArrayList<>();
+                        ((Iterable<?>) args[0]).forEach(id -> {
+                            if (users.containsKey(id)) {
+                                found.add(users.get(id));
+                            }
+                        });
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static ExpenseRepository expenseRepository() {
+        return (ExpenseRepository) Proxy.newProxyInstance(ExpenseServiceBenchmark.class.getClassLoader(),
+                new Class<?>[] {ExpenseRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        Expense saved = (Expense) args[0];
+                        saved.setId("expense-1");
+                        yield saved;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static FriendRepository friendRepository() {
+        return (FriendRepository) writeOnly(FriendRepository.class, "applyBalanceDeltas", null);
+    }
+
+    private static GroupLedgerRepository groupLedgerRepository() {
+        return (GroupLedgerRepository) writeOnly(GroupLedgerRepository.class, "applyExpenses", Set.of());
+    }
+
+    // Accepts the named write, discards it and answers with the given result
+    private static Object writeOnly(Class<?> type, String write, Object result) {
+        return Proxy.newProxyInstance(ExpenseServiceBenchmark.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (method.getName().equals(write)) {
+                            yield result;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,182 @@
+package com.splitpro.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Group;
+import com.splitpro.model.User;
+import com.splitpro.repository.ExpenseRepository;
+import com.splitpro.repository.GroupRepository;
+import com.splitpro.repository.UserRepository;
+import com.splitpro.service.GroupService;
+import com.splitpro.service.UserCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Group creation with a cold user cache: the previous per-member existsById +
+ * findById loop against the batched lookup. Repositories are in-memory stubs that
+ * charge a fixed latency per round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupServiceBenchmark {
+
+    @Param({"200"})
+    private int members;
+
+    @Param({"0", "200"})
+    private long roundTripMicros;
+
+    private UserRepository userRepository;
+    private UserCache userCache;
+    private GroupService groupService;
+    private ExpenseDTOs.CreateGroupRequest request;
+    private String creatorId;
+
+    @Setup
+    public void setUp() {
+        Map<String, User> users = new HashMap<>();
+        List<String> memberIds = new ArrayList<>();
+        for (int i = 0; i <= members; i++) {
+            User user = User.builder()
+                    .id("user-" + i)
+                    .name("User " + i)
+                    .email("user" + i + "@splitpro.com")
+                    .passwordHash("unused")
+                    .build();
+            users.put(user.getId(), user);
+            if (i > 0) {
+                memberIds.add(user.getId());
+            }
+        }
+        creatorId = "user-0";
+        request = ExpenseDTOs.CreateGroupRequest.builder()
+                .name("Benchmark group")
+                .memberIds(memberIds)
+                .build();
+
+        userRepository = userRepository(users);
+        userCache = new UserCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userCache, "ttlMillis", 600_000L);
+        userCache.init();
+
+        groupService = new GroupService(groupRepository(), userCache, stub(ExpenseRepository.class), null);
+    }
+
+    @Setup(Level.Invocation)
+    public void coldCache() {
+        userCache.invalidate(creatorId);
+        request.getMemberIds().forEach(userCache::invalidate);
+    }
+
+    @Benchmark
+    public Group batched() {
+        return groupService.createGroup(creatorId, request);
+    }
+
+    @Benchmark
+    public Group legacyPerMember() {
+        // The loop createGroup used before: existsById per member, then findById per member
+        for (String memberId : request.getMemberIds()) {
+            if (!userRepository.existsById(memberId)) {
+                throw new IllegalArgumentException("User not found: " + memberId);
+            }
+        }
+        Group group = Group.builder()
+                .name(request.getName())
+                .createdBy(creatorId)
+                .createdAt(LocalDateTime.now())
+                .active(true)
+                .build();
+        User creator = userCache.findById(creatorId).orElseThrow();
+        group.addMember(creatorId, creator.getName(), creator.getEmail());
+        for (String memberId : request.getMemberIds()) {
+            User member = userCache.findById(memberId).orElseThrow();
+            group.addMember(memberId, member.getName(), member.getEmail());
+        }
+        roundTrip();
+        return group;
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(roundTripMicros * 1_000);
+        }
+    }
+
+    private UserRepository userRepository(Map<String, User> users) {
+        return (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> {
+                        roundTrip();
+                        yield Optional.ofNullable(users.get((String) args[0]));
+                    }
+                    case "existsById" -> {
+                        roundTrip();
+                        yield users.containsKey((String) args[0]);
+                    }
+                    case "findAllById" -> {
+                        roundTrip();
+                        List<User> found = new ArrayList<>();
+                        ((Iterable<?>) args[0]).forEach(id -> {
+                            if (users.containsKey(id)) {
+                                found.add(users.get(id));
+                            }
+                        });
+                        yield found;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private GroupRepository groupRepository() {
+        return (GroupRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {GroupRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        roundTrip();
+                        yield args[0];
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        return (T) Proxy.newProxyInstance(GroupServiceBenchmark.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
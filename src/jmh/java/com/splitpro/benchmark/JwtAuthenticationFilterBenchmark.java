@@ -0,0 +1,136 @@
+package com.splitpro.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.splitpro.model.User;
+import com.splitpro.repository.UserRepository;
+import com.splitpro.security.JwtAuthenticationFilter;
+import com.splitpro.service.JwtService;
+import com.splitpro.service.UserCache;
+import com.splitpro.service.UserService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Per-request authentication: finding the token among the request's cookies,
+ * verifying it and setting the security context, stateless (claims plus the cached
+ * token version) and with the user loaded per request. The user repository answers
+ * immediately, so the lookup variant shows only its in-process cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String COOKIE_NAME = "split-pro-token";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"1", "10"})
+    private int cookies;
+
+    @Param({"true", "false"})
+    private boolean verifiedTokenCache;
+
+    private JwtAuthenticationFilter statelessFilter;
+    private JwtAuthenticationFilter lookupFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id("64b7f0c2e4b0a1a2b3c4d5e6")
+                .name("Bench User")
+                .email("bench@splitpro.com")
+                .passwordHash("unused")
+                .refreshTokenVersion("5f0c3a9e-3d1b-4c1e-9a57-2f8b1d7c6e40")
+                .build();
+
+        JwtService jwtService = JwtServiceBenchmark.newJwtService(verifiedTokenCache);
+        UserRepository userRepository = userRepository(user);
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(userCache, "ttlMillis", 600_000L);
+        userCache.init();
+        UserService userService = new UserService(userRepository, userCache, null, null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userService, "versionCheckTtlMillis", 30_000L);
+        userService.init();
+
+        statelessFilter = newFilter(jwtService, userService, true);
+        lookupFilter = newFilter(jwtService, userService, false);
+
+        // Browsers send every cookie for the path; the token is usually not the first
+        Cookie[] requestCookies = new Cookie[cookies];
+        for (int i = 0; i < cookies - 1; i++) {
+            requestCookies[i] = new Cookie("cookie-" + i, "value-" + i);
+        }
+        requestCookies[cookies - 1] = new Cookie(COOKIE_NAME, jwtService.generateAccessToken(user, user.getId()));
+        request = new MockHttpServletRequest("GET", "/api/friends");
+        request.setServletPath("/api/friends");
+        request.setCookies(requestCookies);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication stateless() throws Exception {
+        return authenticate(statelessFilter);
+    }
+
+    @Benchmark
+    public Authentication userLookup() throws Exception {
+        return authenticate(lookupFilter);
+    }
+
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+        return authentication;
+    }
+
+    private static JwtAuthenticationFilter newFilter(JwtService jwtService, UserService userService, boolean stateless) {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userService);
+        ReflectionTestUtils.setField(filter, "cookieName", COOKIE_NAME);
+        ReflectionTestUtils.setField(filter, "stateless", stateless);
+        return filter;
+    }
+
+    private static UserRepository userRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(JwtAuthenticationFilterBenchmark.class.getClassLoader(),
+                new Class<?>[] {UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(user);
+                    case "findByEmailOrPhone" -> Optional.of(user);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,117 @@
+package com.splitpro.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.splitpro.model.User;
+import com.splitpro.security.VerifiedToken;
+import com.splitpro.security.VerifiedTokenCache;
+import com.splitpro.service.JwtService;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the per-request token checks done by JwtAuthenticationFilter before and
+ * after tokens were parsed once into a {@link VerifiedToken}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "+s4lXB+d5Vooa/BQ3FvVT3xnCNok/EJo8EbjohuHDy4=";
+
+    private JwtService jwtService;
+    private JwtService cachingJwtService;
+    private SecretKey signingKey;
+    private User user;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = newJwtService(false);
+        cachingJwtService = newJwtService(true);
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        user = User.builder()
+                .id("64b7f0c2e4b0a1a2b3c4d5e6")
+                .name("Bench User")
+                .email("bench@splitpro.com")
+                .passwordHash("unused")
+                .build();
+        accessToken = jwtService.generateAccessToken(user, user.getId());
+    }
+
+    static JwtService newJwtService(boolean cacheEnabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", cacheEnabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 300_000L);
+        cache.init();
+
+        JwtService service = new JwtService(cache);
+        ReflectionTestUtils.setField(service, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(service, "accessTokenExpiry", 900_000L);
+        ReflectionTestUtils.setField(service, "refreshTokenExpiry", 604_800_000L);
+        service.init();
+        return service;
+    }
+
+    @Benchmark
+    public boolean legacyFilterChecks() {
+        // extractUsername + isTokenValid (username + expiration) + isAccessToken,
+        // each building a fresh parser and verifying the signature again
+        String username = legacyClaims(accessToken).getSubject();
+        boolean valid = username.equals(legacyClaims(accessToken).getSubject())
+                && !legacyClaims(accessToken).getExpiration().before(new java.util.Date());
+        return valid && "access".equals(legacyClaims(accessToken).get("type", String.class));
+    }
+
+    @Benchmark
+    public boolean verifiedTokenChecks() {
+        VerifiedToken token = jwtService.verify(accessToken).orElseThrow();
+        return token.isAccessToken() && jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public boolean cachedTokenChecks() {
+        VerifiedToken token = cachingJwtService.verify(accessToken).orElseThrow();
+        return token.isAccessToken() && cachingJwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(user, user.getId());
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtService.generateRefreshToken(user, user.getId());
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
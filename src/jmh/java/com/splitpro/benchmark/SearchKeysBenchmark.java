@@ -0,0 +1,45 @@
+package com.splitpro.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.splitpro.util.SearchKeys;
+
+/**
+ * In-process cost of typeahead search: {@link SearchKeys#tokens} runs on every
+ * query and {@link SearchKeys#of} on every friend or group save. Both should stay
+ * in the low microseconds so the query itself (an index scan on friend_search or
+ * member_groups, checked by QueryPlanVerifier) dominates the latency budget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchKeysBenchmark {
+
+    @Param({"Bob", "Émile Roy", "Weekend trip to Saint-Jean-de-Luz 2024"})
+    private String name;
+
+    @Benchmark
+    public List<String> tokens() {
+        return SearchKeys.tokens(name);
+    }
+
+    @Benchmark
+    public List<String> keys() {
+        return SearchKeys.of(name);
+    }
+}
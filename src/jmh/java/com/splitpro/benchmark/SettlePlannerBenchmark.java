@@ -0,0 +1,53 @@
+package com.splitpro.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.splitpro.service.SettlePlanner;
+
+/**
+ * Settle-plan computation for random zero-sum groups. Sizes up to 14 exercise
+ * the exact subset solver, larger ones the greedy heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SettlePlannerBenchmark {
+
+    @Param({"8", "14", "50", "500"})
+    private int members;
+
+    private long[] netCents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        netCents = new long[members];
+        long sum = 0;
+        for (int i = 0; i < members - 1; i++) {
+            netCents[i] = random.nextInt(200_001) - 100_000;
+            sum += netCents[i];
+        }
+        netCents[members - 1] = -sum;
+    }
+
+    @Benchmark
+    public SettlePlanner.Plan plan() {
+        return SettlePlanner.plan(netCents);
+    }
+}
@@ -0,0 +1,122 @@
+package com.splitpro.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+import com.splitpro.service.SplitCalculator;
+
+/**
+ * Long-cents {@link SplitCalculator} against the previous BigDecimal/groupingBy
+ * implementation, for all-equal splits and a mix of amount, percent and equal splits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplitCalculatorBenchmark {
+
+    @Param({"2", "20", "500"})
+    private int participants;
+
+    @Param({"EQUAL", "MIXED"})
+    private String mix;
+
+    private List<ExpenseDTOs.SplitRequest> splits;
+    private BigDecimal totalAmount;
+    private long totalCents;
+
+    @Setup
+    public void setUp() {
+        totalAmount = new BigDecimal("1234.56");
+        totalCents = SplitCalculator.toCents(totalAmount);
+        splits = new ArrayList<>(participants);
+        for (int i = 0; i < participants; i++) {
+            ExpenseDTOs.SplitRequest split = new ExpenseDTOs.SplitRequest();
+            split.setUserId("user-" + i);
+            split.setSplitType(Expense.SplitType.EQUAL);
+            if ("MIXED".equals(mix) && i % 3 == 1) {
+                split.setSplitType(Expense.SplitType.AMOUNT);
+                split.setSplitValue(new BigDecimal("0.50"));
+            } else if ("MIXED".equals(mix) && i % 3 == 2) {
+                split.setSplitType(Expense.SplitType.PERCENT);
+                split.setSplitValue(BigDecimal.valueOf(50.0 / participants).setScale(2, RoundingMode.DOWN));
+            }
+            splits.add(split);
+        }
+    }
+
+    @Benchmark
+    public long[] longCents() {
+        return SplitCalculator.calculate(splits, totalCents);
+    }
+
+    @Benchmark
+    public List<BigDecimal> legacyBigDecimal() {
+        return legacyCalculate(splits, totalAmount);
+    }
+
+    // Amount logic of the calculateSplits implementation that SplitCalculator replaced
+    private static List<BigDecimal> legacyCalculate(List<ExpenseDTOs.SplitRequest> splitRequests, BigDecimal totalAmount) {
+        List<BigDecimal> amounts = new ArrayList<>();
+        Map<Expense.SplitType, List<ExpenseDTOs.SplitRequest>> splitsByType =
+                splitRequests.stream().collect(Collectors.groupingBy(ExpenseDTOs.SplitRequest::getSplitType));
+
+        BigDecimal remainingAmount = totalAmount;
+
+        if (splitsByType.containsKey(Expense.SplitType.AMOUNT)) {
+            for (ExpenseDTOs.SplitRequest split : splitsByType.get(Expense.SplitType.AMOUNT)) {
+                BigDecimal amount = split.getSplitValue();
+                if (amount.compareTo(remainingAmount) > 0) {
+                    throw new IllegalArgumentException("Fixed amount splits exceed total expense amount");
+                }
+                amounts.add(amount);
+                remainingAmount = remainingAmount.subtract(amount);
+            }
+        }
+
+        if (splitsByType.containsKey(Expense.SplitType.PERCENT)) {
+            BigDecimal totalPercentage = splitsByType.get(Expense.SplitType.PERCENT)
+                    .stream()
+                    .map(ExpenseDTOs.SplitRequest::getSplitValue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (totalPercentage.compareTo(BigDecimal.valueOf(100)) > 0) {
+                throw new IllegalArgumentException("Percentage splits cannot exceed 100%");
+            }
+            for (ExpenseDTOs.SplitRequest split : splitsByType.get(Expense.SplitType.PERCENT)) {
+                amounts.add(totalAmount.multiply(split.getSplitValue())
+                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+            }
+        }
+
+        if (splitsByType.containsKey(Expense.SplitType.EQUAL)) {
+            List<ExpenseDTOs.SplitRequest> equalSplits = splitsByType.get(Expense.SplitType.EQUAL);
+            BigDecimal equalAmount = remainingAmount.divide(
+                    BigDecimal.valueOf(equalSplits.size()), 2, RoundingMode.HALF_UP);
+            for (int i = 0; i < equalSplits.size(); i++) {
+                amounts.add(equalAmount);
+            }
+        }
+        return amounts;
+    }
+}
@@ -0,0 +1,44 @@
+package com.splitpro.config;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+import com.splitpro.model.Friend;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Friend balances used to be stored as strings, which {@code $inc} cannot update.
+ * Converts any remaining string balances to Decimal128 in place on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FriendBalanceMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            UpdateResult result = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Friend.class))
+                    .updateMany(
+                            new Document("balance", new Document("$type", "string")),
+                            List.of(new Document("$set",
+                                    new Document("balance", new Document("$toDecimal", "$balance")))));
+
+            if (result.getModifiedCount() > 0) {
+                log.info("Converted {} friend balances to Decimal128", result.getModifiedCount());
+            }
+        } catch (Exception e) {
+            log.error("Failed to migrate friend balances: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.splitpro.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.splitpro.service.GroupLedgerService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the group balance read model for any group that has none on startup.
+ * Full recovery command: {@code java -jar split-pro.jar --splitpro.ledger.rebuild=true}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GroupLedgerRebuildRunner implements ApplicationRunner {
+
+    private final GroupLedgerService groupLedgerService;
+
+    @Value("${splitpro.ledger.rebuild:false}")
+    private boolean rebuildAll;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            if (rebuildAll) {
+                log.info("Rebuilding all group ledgers");
+                groupLedgerService.rebuildAll();
+            } else {
+                groupLedgerService.rebuildMissing();
+            }
+        } catch (RuntimeException e) {
+            // Writes build a missing ledger on their own; this only speeds up reads
+            log.warn("Group ledger backfill failed: {}", e.getMessage());
+        }
+    }
+}
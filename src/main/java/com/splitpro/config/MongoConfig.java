@@ -1,13 +1,23 @@
 package com.splitpro.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
 
+    @Value("${spring.data.mongodb.auto-index-creation:true}")
+    private boolean autoIndexCreation;
+
     @Override
     protected String getDatabaseName() {
         return "splitpro";
     }
+
+    // AbstractMongoClientConfiguration defaults this to false, which silently skipped every @Indexed
+    @Override
+    protected boolean autoIndexCreation() {
+        return autoIndexCreation;
+    }
 }
\ No newline at end of file
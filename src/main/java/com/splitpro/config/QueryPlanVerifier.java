@@ -0,0 +1,185 @@
+package com.splitpro.config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs {@code explain()} on every repository query shape once the application is up
+ * and warns when the winning plan is a collection scan, or when a shape that names
+ * the index it was built for is planned on another one. Keep {@link #queryShapes()}
+ * in sync with the repository methods and their indexes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryPlanVerifier {
+
+    private static final String COLLSCAN = "COLLSCAN";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${splitpro.mongo.verify-query-plans:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyQueryPlans() {
+        if (!enabled) {
+            return;
+        }
+
+        int badPlans = 0;
+        for (QueryShape shape : queryShapes()) {
+            try {
+                Document explain = mongoTemplate.getDb().runCommand(new Document("explain",
+                        new Document("find", shape.collection())
+                                .append("filter", shape.filter())
+                                .append("sort", shape.sort()))
+                        .append("verbosity", "queryPlanner"));
+
+                Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+                if (containsStage(winningPlan, COLLSCAN)) {
+                    badPlans++;
+                    log.warn("Query {} on '{}' uses a COLLSCAN: {}", shape.name(), shape.collection(), shape.filter().toJson());
+                } else if (shape.index() != null && !usesIndex(winningPlan, shape.index())) {
+                    badPlans++;
+                    log.warn("Query {} on '{}' does not use index {}: {}",
+                            shape.name(), shape.collection(), shape.index(), winningPlan);
+                }
+            } catch (Exception e) {
+                log.warn("Could not explain query {}: {}", shape.name(), e.getMessage());
+            }
+        }
+
+        if (badPlans == 0) {
+            log.info("All {} repository query shapes are index-backed", queryShapes().size());
+        }
+    }
+
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.getString("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+
+    private static boolean usesIndex(Object plan, String index) {
+        if (plan instanceof Document document) {
+            if (index.equals(document.getString("indexName"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> usesIndex(value, index));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> usesIndex(value, index));
+        }
+        return false;
+    }
+
+    private static List<QueryShape> queryShapes() {
+        String id = new ObjectId().toHexString();
+        Document newestFirst = new Document("createdAt", -1).append("_id", -1);
+        Document none = new Document();
+        List<QueryShape> shapes = new ArrayList<>();
+
+        // ExpenseRepository
+        shapes.add(new QueryShape("expenses.findByActiveTrue", "expenses",
+                new Document("active", true), new Document("createdAt", -1)));
+        shapes.add(new QueryShape("expenses.findByPayerIdAndActiveTrue", "expenses",
+                new Document("payerId", id).append("active", true), none));
+        shapes.add(new QueryShape("expenses.findByGroupIdAndActiveTrue", "expenses",
+                new Document("groupId", id).append("active", true), none));
+        shapes.add(new QueryShape("expenses.findByParticipantUserId", "expenses",
+                new Document("splits.userId", id).append("active", true), none));
+        shapes.add(new QueryShape("expenses.findListItemsByUserInvolvement", "expenses",
+                new Document("$or", List.of(new Document("payerId", id), new Document("splits.userId", id)))
+                        .append("active", true), newestFirst));
+        shapes.add(new QueryShape("expenses.findFeedPage", "expenses",
+                new Document("$or", List.of(
+                        new Document("payerId", id).append("active", true),
+                        new Document("splits.userId", id).append("active", true))), newestFirst));
+        shapes.add(new QueryShape("expenses.export", "expenses",
+                new Document("$or", List.of(
+                        new Document("payerId", id).append("active", true),
+                        new Document("splits.userId", id).append("active", true)))
+                        .append("occurredAt", new Document("$gte", new Date(0))), newestFirst));
+        shapes.add(new QueryShape("expenses.findByCreatedAtBetween", "expenses",
+                new Document("createdAt", new Document("$gte", new Date(0)).append("$lte", new Date()))
+                        .append("active", true), none));
+        shapes.add(new QueryShape("expenses.sumByGroupIds ($match)", "expenses",
+                new Document("groupId", new Document("$in", List.of(id))).append("active", true), none));
+
+        // FriendRepository
+        shapes.add(new QueryShape("friends.findByUserIdAndActiveTrue", "friends",
+                new Document("userId", id).append("active", true), none));
+        shapes.add(new QueryShape("friends.findByUserIdAndFriendIdAndActiveTrue", "friends",
+                new Document("userId", id).append("friendId", id).append("active", true), none));
+        shapes.add(new QueryShape("friends.findBidirectionalFriendship", "friends",
+                new Document("$or", List.of(
+                        new Document("userId", id).append("friendId", id),
+                        new Document("userId", id).append("friendId", id))).append("active", true), none));
+        shapes.add(new QueryShape("friends.searchByUserId", "friends",
+                new Document("userId", id).append("active", true)
+                        .append("searchKeys", new Document("$all", List.of("a"))), new Document("friendName", 1),
+                "friend_search"));
+
+        // GroupRepository
+        shapes.add(new QueryShape("groups.findByMemberUserId", "groups",
+                new Document("members.userId", id).append("members.active", true).append("active", true), none));
+        shapes.add(new QueryShape("groups.searchSummariesByMemberUserId", "groups",
+                new Document("members.userId", id).append("members.active", true).append("active", true)
+                        .append("searchKeys", new Document("$all", List.of("a"))), new Document("name", 1),
+                "member_groups"));
+        shapes.add(new QueryShape("groups.findByCreatedByAndActiveTrue", "groups",
+                new Document("createdBy", id).append("active", true), none));
+
+        // SettlementRepository
+        shapes.add(new QueryShape("settlements.findByUserInvolvement", "settlements",
+                new Document("$or", List.of(new Document("fromUserId", id), new Document("toUserId", id)))
+                        .append("active", true), none));
+        shapes.add(new QueryShape("settlements.findByGroupIdAndActiveTrue", "settlements",
+                new Document("groupId", id).append("active", true), none));
+        shapes.add(new QueryShape("settlements.findBetweenUsers", "settlements",
+                new Document("fromUserId", id).append("toUserId", id).append("active", true), none));
+
+        // UserRepository
+        shapes.add(new QueryShape("users.findByEmailOrPhone", "users",
+                new Document("$or", List.of(new Document("email", "x"), new Document("phone", "x"))), none));
+        shapes.add(new QueryShape("users.findByRefreshTokenVersion", "users",
+                new Document("refreshTokenVersion", "x"), none));
+        shapes.add(new QueryShape("users.countByActiveTrue", "users", new Document("active", true), none));
+
+        // RefreshTokenService
+        shapes.add(new QueryShape("revoked_tokens.rebuild", "revoked_tokens",
+                new Document("expiresAt", new Document("$gt", new Date())), none));
+
+        return shapes;
+    }
+
+    /**
+     * @param index name of the index the query was designed for, or {@code null} if any index will do
+     */
+    private record QueryShape(String name, String collection, Document filter, Document sort, String index) {
+
+        QueryShape(String name, String collection, Document filter, Document sort) {
+            this(name, collection, filter, sort, null);
+        }
+    }
+}
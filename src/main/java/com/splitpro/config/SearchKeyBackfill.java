@@ -0,0 +1,83 @@
+package com.splitpro.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.splitpro.model.Friend;
+import com.splitpro.model.Group;
+import com.splitpro.util.SearchKeys;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills in {@code searchKeys} on friends and groups saved before search used them.
+ * Only documents without keys are read, so after the first run this is one empty query
+ * per collection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchKeyBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            backfill(mongoTemplate.getCollectionName(Friend.class), "friendName");
+            backfill(mongoTemplate.getCollectionName(Group.class), "name");
+        } catch (Exception e) {
+            log.error("Failed to backfill search keys: {}", e.getMessage());
+        }
+    }
+
+    private void backfill(String collection, String nameField) {
+        Query query = new Query(Criteria.where("searchKeys").exists(false));
+        query.fields().include(nameField);
+        query.cursorBatchSize(BATCH_SIZE);
+
+        long updated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                batch.add(document);
+                if (batch.size() == BATCH_SIZE) {
+                    updated += write(collection, nameField, batch);
+                }
+            }
+        }
+        updated += write(collection, nameField, batch);
+
+        if (updated > 0) {
+            log.info("Backfilled search keys on {} {}", updated, collection);
+        }
+    }
+
+    private int write(String collection, String nameField, List<Document> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, collection);
+        for (Document document : batch) {
+            bulk.updateOne(new Query(Criteria.where("_id").is(document.get("_id"))),
+                    new Update().set("searchKeys", SearchKeys.of(document.getString(nameField))));
+        }
+        int modified = bulk.execute().getModifiedCount();
+        batch.clear();
+        return modified;
+    }
+}
@@ -0,0 +1,33 @@
+package com.splitpro.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+
+import com.splitpro.model.Friend;
+import com.splitpro.model.Group;
+import com.splitpro.util.SearchKeys;
+
+/**
+ * Keeps {@code searchKeys} in step with the searchable name on every save, so no
+ * service has to remember to do it.
+ */
+@Configuration
+public class SearchKeyConfig {
+
+    @Bean
+    public BeforeConvertCallback<Friend> friendSearchKeys() {
+        return (friend, collection) -> {
+            friend.setSearchKeys(SearchKeys.of(friend.getFriendName()));
+            return friend;
+        };
+    }
+
+    @Bean
+    public BeforeConvertCallback<Group> groupSearchKeys() {
+        return (group, collection) -> {
+            group.setSearchKeys(SearchKeys.of(group.getName()));
+            return group;
+        };
+    }
+}
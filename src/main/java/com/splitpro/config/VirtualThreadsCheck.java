@@ -0,0 +1,39 @@
+package com.splitpro.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports which thread model serves requests. Spring Boot silently falls back to
+ * platform threads when {@code splitpro.runtime.virtual-threads} is set on a JVM
+ * older than 21, so that case is logged as a warning.
+ * <p>
+ * Virtual threads are experimental here: the default build and image are Java 17,
+ * and the mode has not been load tested against platform threads yet.
+ */
+@Slf4j
+@Component
+public class VirtualThreadsCheck {
+
+    private static final int VIRTUAL_THREADS_RELEASE = 21;
+
+    @Value("${splitpro.runtime.virtual-threads:false}")
+    private boolean requested;
+
+    @PostConstruct
+    public void init() {
+        int release = Runtime.version().feature();
+        if (!requested) {
+            log.info("Serving requests on platform threads (Java {})", release);
+        } else if (release < VIRTUAL_THREADS_RELEASE) {
+            log.warn("splitpro.runtime.virtual-threads is set but Java {} has no virtual threads; "
+                    + "using platform threads. Build with -Pjava21 and run on Java 21+", release);
+        } else {
+            log.warn("Serving requests and async work on virtual threads (Java {}); this mode is experimental "
+                    + "and not load tested", release);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.splitpro.controller;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -8,10 +9,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.WebUtils;
 
 import com.splitpro.dto.AuthDTOs;
+import com.splitpro.exception.ServerBusyException;
 import com.splitpro.model.User;
 import com.splitpro.service.JwtService;
+import com.splitpro.service.RefreshTokenService;
 import com.splitpro.service.UserService;
 import com.splitpro.util.SecurityUtils;
 
@@ -28,8 +32,14 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final String ACCESS_COOKIE = "split-pro-token";
+    private static final String REFRESH_COOKIE = "split-pro-refresh";
+    // The refresh token is only ever sent to the auth endpoints
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
+
     private final UserService userService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
     private final SecurityUtils securityUtils;
 
     @PostMapping("/signup")
@@ -46,9 +56,7 @@ public class AuthController {
             String accessToken = jwtService.generateAccessToken(user, user.getId());
             String refreshToken = jwtService.generateRefreshToken(user, user.getId());
             
-            // Set HTTP-only cookie for access token
-            setTokenCookie(response, "split-pro-token", accessToken, 
-                          (int) (jwtService.getAccessTokenExpiry() / 1000));
+            setSessionCookies(response, accessToken, refreshToken);
             
             AuthDTOs.UserResponse userResponse = userService.toUserResponse(user);
             AuthDTOs.AuthResponse authResponse = AuthDTOs.AuthResponse.success(
@@ -67,6 +75,9 @@ public class AuthController {
                     .message(e.getMessage())
                     .build()
             );
+        } catch (ServerBusyException e) {
+            log.warn("Signup refused: {}", e.getMessage());
+            return busy(e);
         } catch (Exception e) {
             log.error("Unexpected error during signup", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -91,9 +102,7 @@ public class AuthController {
             String accessToken = jwtService.generateAccessToken(user, user.getId());
             String refreshToken = jwtService.generateRefreshToken(user, user.getId());
             
-            // Set HTTP-only cookie for access token
-            setTokenCookie(response, "split-pro-token", accessToken, 
-                          (int) (jwtService.getAccessTokenExpiry() / 1000));
+            setSessionCookies(response, accessToken, refreshToken);
             
             AuthDTOs.UserResponse userResponse = userService.toUserResponse(user);
             AuthDTOs.AuthResponse authResponse = AuthDTOs.AuthResponse.success(
@@ -112,6 +121,9 @@ public class AuthController {
                     .message("Invalid credentials")
                     .build()
             );
+        } catch (ServerBusyException e) {
+            log.warn("Login refused: {}", e.getMessage());
+            return busy(e);
         } catch (Exception e) {
             log.error("Unexpected error during login", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
@@ -138,10 +150,62 @@ public class AuthController {
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthDTOs.AuthResponse> refresh(HttpServletRequest request, HttpServletResponse response) {
+        try {
+            Cookie refreshCookie = WebUtils.getCookie(request, REFRESH_COOKIE);
+            RefreshTokenService.RefreshedSession session =
+                    refreshTokenService.refresh(refreshCookie != null ? refreshCookie.getValue() : null);
+
+            setSessionCookies(response, session.accessToken(), session.refreshToken());
+
+            AuthDTOs.AuthResponse authResponse = AuthDTOs.AuthResponse.success(
+                userService.toUserResponse(session.user()),
+                "Session refreshed",
+                jwtService.getAccessTokenExpiry()
+            );
+            return ResponseEntity.ok(authResponse);
+
+        } catch (IllegalStateException e) {
+            // Reuse of a spent token: the request that spent it has set the new cookies, keep them
+            log.debug("Refresh rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(
+                AuthDTOs.AuthResponse.builder()
+                    .message("Session was refreshed by another request")
+                    .build()
+            );
+        } catch (IllegalArgumentException e) {
+            log.debug("Refresh failed: {}", e.getMessage());
+            clearTokenCookie(response, ACCESS_COOKIE, "/");
+            clearTokenCookie(response, REFRESH_COOKIE, REFRESH_COOKIE_PATH);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+                AuthDTOs.AuthResponse.builder()
+                    .message("Session expired, please log in again")
+                    .build()
+            );
+        } catch (Exception e) {
+            log.error("Unexpected error during token refresh", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                AuthDTOs.AuthResponse.builder()
+                    .message("An unexpected error occurred")
+                    .build()
+            );
+        }
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(HttpServletRequest request, HttpServletResponse response) {
-        // Clear the token cookie
-        clearTokenCookie(response, "split-pro-token");
+        Cookie refreshCookie = WebUtils.getCookie(request, REFRESH_COOKIE);
+        if (refreshCookie != null) {
+            try {
+                refreshTokenService.revoke(refreshCookie.getValue());
+            } catch (Exception e) {
+                // The cookies are cleared regardless; the token still expires on its own
+                log.warn("Failed to revoke refresh token on logout: {}", e.getMessage());
+            }
+        }
+        clearTokenCookie(response, ACCESS_COOKIE, "/");
+        clearTokenCookie(response, REFRESH_COOKIE, REFRESH_COOKIE_PATH);
         
         log.info("User logged out successfully");
         return ResponseEntity.ok().build();
@@ -161,21 +225,36 @@ public class AuthController {
         }
     }
 
-    private void setTokenCookie(HttpServletResponse response, String name, String value, int maxAge) {
+    private ResponseEntity<AuthDTOs.AuthResponse> busy(ServerBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(AuthDTOs.AuthResponse.builder()
+                    .message(e.getMessage())
+                    .build());
+    }
+
+    private void setSessionCookies(HttpServletResponse response, String accessToken, String refreshToken) {
+        setTokenCookie(response, ACCESS_COOKIE, accessToken, "/",
+                      (int) (jwtService.getAccessTokenExpiry() / 1000));
+        setTokenCookie(response, REFRESH_COOKIE, refreshToken, REFRESH_COOKIE_PATH,
+                      (int) (jwtService.getRefreshTokenExpiry() / 1000));
+    }
+
+    private void setTokenCookie(HttpServletResponse response, String name, String value, String path, int maxAge) {
         Cookie cookie = new Cookie(name, value);
         cookie.setHttpOnly(true);
         cookie.setSecure(false); // Set to true in production with HTTPS
-        cookie.setPath("/");
+        cookie.setPath(path);
         cookie.setMaxAge(maxAge);
         // cookie.setSameSite("Strict"); // Uncomment if your framework supports it
         response.addCookie(cookie);
     }
 
-    private void clearTokenCookie(HttpServletResponse response, String name) {
+    private void clearTokenCookie(HttpServletResponse response, String name, String path) {
         Cookie cookie = new Cookie(name, "");
         cookie.setHttpOnly(true);
         cookie.setSecure(false);
-        cookie.setPath("/");
+        cookie.setPath(path);
         cookie.setMaxAge(0);
         response.addCookie(cookie);
     }
@@ -0,0 +1,46 @@
+package com.splitpro.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.service.DashboardService;
+import com.splitpro.util.SecurityUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * The current user, balances, friends, groups and first feed page in one response,
+     * replacing separate calls to /api/auth/me, /api/balances, /api/friends,
+     * /api/groups and /api/expenses.
+     */
+    @GetMapping
+    public ResponseEntity<ExpenseDTOs.DashboardResponse> getDashboard(Authentication authentication) {
+        String userId = getCurrentUserId(authentication);
+        
+        try {
+            return ResponseEntity.ok(dashboardService.getDashboard(userId));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to load dashboard for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    private String getCurrentUserId(Authentication authentication) {
+        return securityUtils.getCurrentUserId(authentication);
+    }
+}
@@ -1,12 +1,22 @@
 package com.splitpro.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,12 +27,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import com.splitpro.dto.ExpenseDTOs;
 import com.splitpro.model.Expense;
+import com.splitpro.service.ExpenseExportService;
+import com.splitpro.service.ExpenseImportService;
 import com.splitpro.service.ExpenseService;
 import com.splitpro.util.SecurityUtils;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +50,14 @@ import lombok.extern.slf4j.Slf4j;
 public class ExpenseController {
 
     private final ExpenseService expenseService;
+    private final ExpenseImportService expenseImportService;
+    private final ExpenseExportService expenseExportService;
     private final SecurityUtils securityUtils;
+    private final ObjectMapper objectMapper;
+
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String CSV_VALUE = "text/csv";
 
     @PostMapping
     public ResponseEntity<ExpenseDTOs.ExpenseResponse> createExpense(
@@ -54,8 +77,77 @@ public class ExpenseController {
         }
     }
 
+    /**
+     * Imports expenses paid by the current user from an NDJSON or CSV body, which is
+     * read as a stream. Per-row failures are listed in the response.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON_VALUE, CSV_VALUE})
+    public ResponseEntity<ExpenseDTOs.ImportResponse> importExpenses(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        
+        String userId = getCurrentUserId(authentication);
+        ExpenseImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))
+                ? ExpenseImportService.Format.CSV : ExpenseImportService.Format.NDJSON;
+        
+        try {
+            return ResponseEntity.ok(expenseImportService.importExpenses(userId, request.getInputStream(), format));
+        } catch (IllegalArgumentException e) {
+            log.warn("Failed to import expenses for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Same import for clients that send {@code Accept: application/x-ndjson}: one
+     * progress line is streamed per written chunk, and the last line (with
+     * {@code done} set) carries the summary, or {@code error} when the import
+     * failed on the server after the response was committed.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON_VALUE, CSV_VALUE}, produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importExpensesWithProgress(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        
+        String userId = getCurrentUserId(authentication);
+        ExpenseImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))
+                ? ExpenseImportService.Format.CSV : ExpenseImportService.Format.NDJSON;
+        InputStream body = request.getInputStream();
+        
+        StreamingResponseBody stream = out -> {
+            ExpenseDTOs.ImportResponse summary;
+            try {
+                summary = expenseImportService.importExpenses(userId, body, format,
+                        progress -> writeLine(out, progress));
+            } catch (IllegalArgumentException e) {
+                log.warn("Failed to import expenses for user {}: {}", userId, e.getMessage());
+                summary = ExpenseDTOs.ImportResponse.builder().done(true).error(e.getMessage()).build();
+            } catch (RuntimeException e) {
+                log.error("Import for user {} failed", userId, e);
+                summary = ExpenseDTOs.ImportResponse.builder().done(true).error("Import failed").build();
+            }
+            writeLine(out, summary);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(stream);
+    }
+
+    private void writeLine(OutputStream out, ExpenseDTOs.ImportResponse line) {
+        try {
+            // writeValue(out) would close the response stream
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<Page<ExpenseDTOs.ExpenseResponse>> getUserExpenses(
+    public ResponseEntity<Page<ExpenseDTOs.ExpenseListItem>> getUserExpenses(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -69,10 +161,70 @@ public class ExpenseController {
         
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<ExpenseDTOs.ExpenseResponse> expenses = expenseService.getUserExpenses(userId, pageable);
+        Page<ExpenseDTOs.ExpenseListItem> expenses = expenseService.getUserExpenses(userId, pageable);
         return ResponseEntity.ok(expenses);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<ExpenseDTOs.ExpenseFeedResponse> getExpenseFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        String userId = getCurrentUserId(authentication);
+        
+        try {
+            int pageSize = Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE));
+            return ResponseEntity.ok(expenseService.getUserExpenseFeed(userId, cursor, pageSize));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Downloads the current user's expense history, streamed from a database cursor.
+     * {@code from}/{@code to} are inclusive dates on {@code occurredAt}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            Authentication authentication) {
+        
+        String userId = getCurrentUserId(authentication);
+        
+        ExpenseExportService.Format exportFormat;
+        try {
+            exportFormat = ExpenseExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String filename = "expenses." + exportFormat.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(exportFormat == ExpenseExportService.Format.CSV ? CSV_VALUE : NDJSON_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                expenseExportService.export(userId, from, to, exportFormat, compressed);
+                compressed.finish();
+            } else {
+                expenseExportService.export(userId, from, to, exportFormat, out);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{expenseId}")
     public ResponseEntity<ExpenseDTOs.ExpenseResponse> getExpenseDetails(
             @PathVariable String expenseId,
@@ -89,14 +241,14 @@ public class ExpenseController {
     }
 
     @GetMapping("/groups/{groupId}")
-    public ResponseEntity<List<ExpenseDTOs.ExpenseResponse>> getGroupExpenses(
+    public ResponseEntity<List<ExpenseDTOs.ExpenseListItem>> getGroupExpenses(
             @PathVariable String groupId,
             Authentication authentication) {
         
         String userId = getCurrentUserId(authentication);
         
         try {
-            List<ExpenseDTOs.ExpenseResponse> expenses = expenseService.getGroupExpenses(groupId, userId);
+            List<ExpenseDTOs.ExpenseListItem> expenses = expenseService.getGroupExpenses(groupId, userId);
             return ResponseEntity.ok(expenses);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
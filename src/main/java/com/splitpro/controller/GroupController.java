@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.splitpro.dto.ExpenseDTOs;
@@ -50,9 +51,19 @@ public class GroupController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ExpenseDTOs.GroupResponse>> getUserGroups(Authentication authentication) {
+    public ResponseEntity<List<ExpenseDTOs.GroupListItem>> getUserGroups(Authentication authentication) {
         String userId = getCurrentUserId(authentication);
-        List<ExpenseDTOs.GroupResponse> groups = groupService.getUserGroups(userId);
+        List<ExpenseDTOs.GroupListItem> groups = groupService.getUserGroups(userId);
+        return ResponseEntity.ok(groups);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ExpenseDTOs.GroupListItem>> searchGroups(
+            @RequestParam String query,
+            Authentication authentication) {
+        
+        String userId = getCurrentUserId(authentication);
+        List<ExpenseDTOs.GroupListItem> groups = groupService.searchGroups(userId, query);
         return ResponseEntity.ok(groups);
     }
 
@@ -71,6 +82,21 @@ public class GroupController {
         }
     }
 
+    @GetMapping("/{groupId}/settle-plan")
+    public ResponseEntity<List<ExpenseDTOs.SettlementResponse>> getSettlePlan(
+            @PathVariable String groupId,
+            Authentication authentication) {
+        
+        String userId = getCurrentUserId(authentication);
+        
+        try {
+            List<ExpenseDTOs.SettlementResponse> plan = groupService.getSettlePlan(groupId, userId);
+            return ResponseEntity.ok(plan);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/{groupId}/members")
     public ResponseEntity<ExpenseDTOs.GroupResponse> addMember(
             @PathVariable String groupId,
@@ -88,6 +114,22 @@ public class GroupController {
         }
     }
 
+    /**
+     * Adds many members in one write. Errors such as unknown user ids are left to
+     * GlobalExceptionHandler so the response lists every missing id.
+     */
+    @PostMapping("/{groupId}/members:batch")
+    public ResponseEntity<ExpenseDTOs.GroupResponse> addMembers(
+            @PathVariable String groupId,
+            @Valid @RequestBody ExpenseDTOs.AddMembersRequest request,
+            Authentication authentication) {
+        
+        String userId = getCurrentUserId(authentication);
+        
+        Group group = groupService.addMembersToGroup(groupId, request.getUserIds(), userId);
+        return ResponseEntity.ok(groupService.toGroupResponse(group));
+    }
+
     @DeleteMapping("/{groupId}/members/{memberId}")
     public ResponseEntity<Void> removeMember(
             @PathVariable String groupId,
@@ -0,0 +1,54 @@
+package com.splitpro.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.splitpro.service.EventStreamService;
+import com.splitpro.util.SecurityUtils;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+public class StreamController {
+
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final EventStreamService eventStreamService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * Server-sent events for the current user: {@code expense} and {@code balance},
+     * plus periodic heartbeat comments.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(Authentication authentication) {
+        String userId = getCurrentUserId(authentication);
+        
+        try {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .header("X-Accel-Buffering", "no") // keep reverse proxies from buffering the stream
+                    .body(eventStreamService.connect(userId));
+        } catch (IllegalStateException e) {
+            log.warn("Rejected event stream for user {}: {}", userId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+    }
+
+    private String getCurrentUserId(Authentication authentication) {
+        return securityUtils.getCurrentUserId(authentication);
+    }
+}
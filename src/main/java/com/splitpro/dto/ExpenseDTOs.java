@@ -61,7 +61,7 @@ public class ExpenseDTOs {
         @NotNull(message = "Split type is required")
         private Expense.SplitType splitType;
         
-        private BigDecimal splitValue; // For PERCENT or AMOUNT types
+        private BigDecimal splitValue; // Percentage, amount, share count or adjustment; unused for EQUAL
     }
 
     @Data
@@ -86,6 +86,80 @@ public class ExpenseDTOs {
         private boolean isBalanced;
     }
 
+    /**
+     * Row of an expense list. Read straight from Mongo as a projection: no notes and
+     * only who owes what from the splits. {@link ExpenseResponse} is the detail view.
+     */
+    public record ExpenseListItem(
+            String id,
+            String description,
+            BigDecimal totalAmount,
+            String currency,
+            String payerId,
+            String payerName,
+            String groupId,
+            String groupName,
+            Expense.ExpenseCategory category,
+            LocalDateTime createdAt,
+            LocalDateTime occurredAt,
+            List<SplitShare> splits) {
+    }
+
+    public record SplitShare(String userId, BigDecimal amountOwed) {
+    }
+
+    /**
+     * Row of the group list; {@link GroupResponse} is the detail view with members.
+     */
+    public record GroupListItem(
+            String id,
+            String name,
+            String description,
+            String createdBy,
+            String createdByName,
+            int memberCount,
+            LocalDateTime createdAt,
+            int totalExpenses,
+            BigDecimal totalAmount,
+            BigDecimal balance) { // How much the current user owes to the group
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExpenseFeedResponse {
+        
+        private List<ExpenseListItem> content;
+        private String nextCursor; // Opaque; pass back as ?cursor= for the next page
+        private boolean hasNext;
+        private int size;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportResponse {
+        
+        private int rowsRead;
+        private int imported;
+        private int failed;
+        private List<ImportError> errors; // First errors only when errorsTruncated is set
+        private boolean errorsTruncated;
+        private boolean done; // False on the progress lines of a streamed import
+        private String error; // Set when a streamed import stopped on a server error
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportError {
+        
+        private int row; // 1-based, excluding the CSV header
+        private String message;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -146,6 +220,17 @@ public class ExpenseDTOs {
         private BigDecimal balance; // How much this member owes to the group
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AddMembersRequest {
+        
+        @NotEmpty(message = "At least one user ID is required")
+        @Size(max = 500, message = "At most 500 members can be added at once")
+        private List<String> userIds;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -183,6 +268,19 @@ public class ExpenseDTOs {
         private BigDecimal netBalance;  // totalOwedToYou - totalOwed
     }
 
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DashboardResponse {
+        
+        private AuthDTOs.UserResponse user;
+        private BalanceResponse balances;
+        private List<FriendResponse> friends;
+        private List<GroupListItem> groups;
+        private ExpenseFeedResponse recentExpenses; // First feed page; continue with /api/expenses/feed
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -0,0 +1,10 @@
+package com.splitpro.event;
+
+import com.splitpro.repository.BalanceDeltas;
+
+/**
+ * Friend balances moved by {@code deltas}, already written. Published by
+ * {@link com.splitpro.service.FriendService} after every bulk balance update.
+ */
+public record BalancesChangedEvent(BalanceDeltas deltas) {
+}
@@ -0,0 +1,11 @@
+package com.splitpro.event;
+
+import com.splitpro.model.Expense;
+
+/**
+ * An expense was created or deleted. Published by {@link com.splitpro.service.ExpenseService}.
+ */
+public record ExpenseChangedEvent(Expense expense, Action action) {
+
+    public enum Action { CREATED, DELETED }
+}
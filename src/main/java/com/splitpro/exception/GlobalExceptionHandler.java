@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -94,6 +95,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<AuthDTOs.ErrorResponse> handleServerBusyException(
+            ServerBusyException e, HttpServletRequest request) {
+        
+        log.warn("ServerBusyException: {}", e.getMessage());
+        
+        AuthDTOs.ErrorResponse errorResponse = AuthDTOs.ErrorResponse.of(
+                e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value(), request.getRequestURI());
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<AuthDTOs.ErrorResponse> handleRuntimeException(
             RuntimeException e, HttpServletRequest request) {
@@ -0,0 +1,18 @@
+package com.splitpro.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be retried
+ * later. Mapped to 503 with a {@code Retry-After} header.
+ */
+@Getter
+public class ServerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
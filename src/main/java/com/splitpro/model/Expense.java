@@ -7,7 +7,8 @@ import java.util.List;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -24,6 +25,16 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "expenses")
+@CompoundIndexes({
+    // Keyset feed: one bounded range scan per $or branch of findFeedPage; the prefixes
+    // also serve findByPayerIdAndActiveTrue, findByParticipantUserId, findListItemsByUserInvolvement and countByPayerId
+    @CompoundIndex(name = "payer_feed", def = "{'payerId': 1, 'active': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "participant_feed", def = "{'splits.userId': 1, 'active': 1, 'createdAt': -1, '_id': -1}"),
+    // findByGroupIdAndActiveTrue, findListItemsByGroupId, sumByGroupIds
+    @CompoundIndex(name = "group_expenses", def = "{'groupId': 1, 'active': 1, 'createdAt': -1}"),
+    // findByActiveTrue, findByCreatedAtBetween
+    @CompoundIndex(name = "active_created", def = "{'active': 1, 'createdAt': -1}")
+})
 public class Expense {
     
     @Id
@@ -41,12 +52,10 @@ public class Expense {
     private String currency = "USD";
     
     @NotBlank(message = "Payer is required")
-    @Indexed
     private String payerId; // User ID who paid
     
     private String payerName; // Cached for display
     
-    @Indexed
     private String groupId; // Optional - null for personal expenses
     
     private String groupName; // Cached for display
@@ -91,9 +100,11 @@ public class Expense {
     }
     
     public enum SplitType {
-        EQUAL,    // Split equally among participants
-        PERCENT,  // Split by percentage
-        AMOUNT    // Fixed amount per person
+        EQUAL,      // Split equally among participants
+        PERCENT,    // Split by percentage
+        AMOUNT,     // Fixed amount per person
+        SHARES,     // Split by weight (e.g. 2 shares vs 1 share)
+        ADJUSTMENT  // Equal share plus/minus a fixed amount
     }
     
     public enum ExpenseCategory {
@@ -2,11 +2,15 @@ package com.splitpro.model;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +22,14 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "friends")
-@CompoundIndex(def = "{'userId': 1, 'friendId': 1}", unique = true)
+@CompoundIndexes({
+    // findByUserIdAndFriendIdAndActiveTrue, findBidirectionalFriendship, existsBy...
+    @CompoundIndex(def = "{'userId': 1, 'friendId': 1}", unique = true),
+    // findByUserIdAndActiveTrue, countByUserIdAndActiveTrue
+    @CompoundIndex(name = "user_friends", def = "{'userId': 1, 'active': 1, 'friendName': 1}"),
+    // searchByUserId: typeahead over the user's own friends (multikey on searchKeys)
+    @CompoundIndex(name = "friend_search", def = "{'userId': 1, 'active': 1, 'searchKeys': 1}")
+})
 public class Friend {
     
     @Id
@@ -29,7 +40,11 @@ public class Friend {
     private String friendName;  // Friend's display name
     private String friendEmail; // Friend's email for reference
     
+    private List<String> searchKeys; // Word prefixes of friendName, maintained by SearchKeyConfig
+    
+    // Stored as Decimal128 so balance changes can be applied with $inc
     @Builder.Default
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal balance = BigDecimal.ZERO; // How much friend owes to user (positive = owes, negative = owed)
     
     @CreatedDate
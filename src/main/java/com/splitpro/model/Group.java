@@ -7,6 +7,8 @@ import java.util.List;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -21,6 +23,14 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "groups")
+@CompoundIndexes({
+    // findByMemberUserId and group search (multikey over members). searchKeys cannot join
+    // this index: a compound index may not cover two arrays, so it is a residual filter over
+    // the user's own groups
+    @CompoundIndex(name = "member_groups", def = "{'members.userId': 1, 'active': 1}"),
+    // findByCreatedByAndActiveTrue, countByCreatedBy
+    @CompoundIndex(name = "creator_groups", def = "{'createdBy': 1, 'active': 1}")
+})
 public class Group {
     
     @Id
@@ -32,6 +42,8 @@ public class Group {
     
     private String description;
     
+    private List<String> searchKeys; // Word prefixes of name, maintained by SearchKeyConfig
+    
     private String createdBy; // User ID who created the group
     
     @Builder.Default
@@ -0,0 +1,51 @@
+package com.splitpro.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized balances of one group, kept up to date incrementally on every group
+ * expense and settlement so reads never have to scan the group's expenses.
+ * Amounts are Decimal128 so they can be maintained with {@code $inc}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "group_balances")
+public class GroupLedger {
+
+    @Id
+    private String groupId;
+
+    @Builder.Default
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalAmount = BigDecimal.ZERO; // Sum of active expenses
+
+    private long expenseCount; // Number of active expenses
+
+    @Builder.Default
+    private Map<String, BigDecimal> balances = new HashMap<>(); // userId -> net (positive = group owes member), sums to 0
+
+    private long version; // Bumped by every write, so a rebuild can detect writes it raced with
+
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+
+    public BigDecimal getBalance(String userId) {
+        return balances.getOrDefault(userId, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,35 @@
+package com.splitpro.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A refresh token that has been used or logged out. Keyed by the token's id, so
+ * inserting it is also the check that the token was not spent already. Mongo drops
+ * the document once the token would have expired anyway.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id; // the refresh token's jti
+
+    private String userId;
+
+    @Indexed(name = "revoked_token_expiry", expireAfterSeconds = 0)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt;
+}
@@ -5,7 +5,8 @@ import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -21,19 +22,27 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "settlements")
+@CompoundIndexes({
+    // findByFromUserIdAndActiveTrue, countByFromUserId, findByUserInvolvement ($or branch)
+    @CompoundIndex(name = "from_user", def = "{'fromUserId': 1, 'active': 1, 'settledAt': -1}"),
+    // findByToUserIdAndActiveTrue, findByUserInvolvement ($or branch)
+    @CompoundIndex(name = "to_user", def = "{'toUserId': 1, 'active': 1, 'settledAt': -1}"),
+    // findBetweenUsers
+    @CompoundIndex(name = "between_users", def = "{'fromUserId': 1, 'toUserId': 1, 'active': 1}"),
+    // findByGroupIdAndActiveTrue
+    @CompoundIndex(name = "group_settlements", def = "{'groupId': 1, 'active': 1}")
+})
 public class Settlement {
     
     @Id
     private String id;
     
     @NotBlank(message = "From user is required")
-    @Indexed
     private String fromUserId; // User who is paying
     
     private String fromUserName; // Cached for display
     
     @NotBlank(message = "To user is required") 
-    @Indexed
     private String toUserId; // User who is receiving payment
     
     private String toUserName; // Cached for display
@@ -45,7 +54,6 @@ public class Settlement {
     @Builder.Default
     private String currency = "USD";
     
-    @Indexed
     private String groupId; // Optional - null for personal settlements
     
     private String groupName; // Cached for display
@@ -17,6 +17,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -28,6 +29,9 @@ import java.util.List;
 @Document(collection = "users")
 public class User implements UserDetails {
 
+    public static final int MAX_FAILED_LOGIN_ATTEMPTS = 5;
+    public static final Duration LOCKOUT_DURATION = Duration.ofMinutes(15);
+
     @Id
     private String id;
 
@@ -46,6 +50,7 @@ public class User implements UserDetails {
     @NotBlank(message = "Password is required")
     private String passwordHash;
 
+    @Indexed
     @Builder.Default
     private boolean active = true;
 
@@ -61,6 +66,7 @@ public class User implements UserDetails {
     @LastModifiedDate
     private LocalDateTime updatedAt;
 
+    @Indexed(sparse = true)
     private String refreshTokenVersion;
 
     @Builder.Default
@@ -121,9 +127,9 @@ public class User implements UserDetails {
     // Business methods
     public void incrementFailedLoginAttempts() {
         this.failedLoginAttempts++;
-        if (this.failedLoginAttempts >= 5) {
+        if (this.failedLoginAttempts >= MAX_FAILED_LOGIN_ATTEMPTS) {
             this.accountLocked = true;
-            this.lockedUntil = LocalDateTime.now().plusMinutes(15);
+            this.lockedUntil = LocalDateTime.now().plus(LOCKOUT_DURATION);
         }
     }
 
@@ -0,0 +1,79 @@
+package com.splitpro.repository;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.splitpro.model.Expense;
+
+/**
+ * Net balance changes between pairs of users, accumulated in memory so they can be
+ * written with one bulk operation. A delta of {@code amount} for (creditor, debtor)
+ * means the debtor now owes the creditor {@code amount} more.
+ */
+public class BalanceDeltas {
+
+    private static final char SEPARATOR = '|';
+
+    private final Map<String, BigDecimal> deltas = new LinkedHashMap<>();
+
+    public static BalanceDeltas of(Expense expense) {
+        BalanceDeltas deltas = new BalanceDeltas();
+        deltas.addExpense(expense);
+        return deltas;
+    }
+
+    public void addExpense(Expense expense) {
+        String payerId = expense.getPayerId();
+        for (Expense.ExpenseSplit split : expense.getSplits()) {
+            if (!split.getUserId().equals(payerId)) {
+                // Participant owes money to the payer
+                add(payerId, split.getUserId(), split.getAmountOwed());
+            }
+        }
+    }
+
+    public void add(String creditorId, String debtorId, BigDecimal amount) {
+        if (amount == null || amount.signum() == 0) {
+            return;
+        }
+        // Store each pair once in a canonical direction so A->B and B->A net out
+        if (creditorId.compareTo(debtorId) <= 0) {
+            deltas.merge(creditorId + SEPARATOR + debtorId, amount, BigDecimal::add);
+        } else {
+            deltas.merge(debtorId + SEPARATOR + creditorId, amount.negate(), BigDecimal::add);
+        }
+    }
+
+    public BalanceDeltas reversed() {
+        BalanceDeltas reversed = new BalanceDeltas();
+        deltas.forEach((pair, amount) -> reversed.deltas.put(pair, amount.negate()));
+        return reversed;
+    }
+
+    /**
+     * Visits every non-zero (creditorId, debtorId) pair with its accumulated amount.
+     */
+    public void forEach(PairConsumer consumer) {
+        deltas.forEach((pair, amount) -> {
+            if (amount.signum() != 0) {
+                int split = pair.indexOf(SEPARATOR);
+                consumer.accept(pair.substring(0, split), pair.substring(split + 1), amount);
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return deltas.values().stream().allMatch(amount -> amount.signum() == 0);
+    }
+
+    public int size() {
+        return deltas.size();
+    }
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(String creditorId, String debtorId, BigDecimal amount);
+    }
+}
@@ -1,18 +1,22 @@
 package com.splitpro.repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.splitpro.dto.ExpenseDTOs;
 import com.splitpro.model.Expense;
 
 @Repository
-public interface ExpenseRepository extends MongoRepository<Expense, String> {
+public interface ExpenseRepository extends MongoRepository<Expense, String>, ExpenseRepositoryCustom {
 
     Page<Expense> findByActiveTrue(Pageable pageable);
 
@@ -23,13 +27,33 @@ public interface ExpenseRepository extends MongoRepository<Expense, String> {
     @Query("{ 'splits.userId': ?0, 'active': true }")
     List<Expense> findByParticipantUserId(String userId);
 
-    @Query("{ $or: [ { 'payerId': ?0 }, { 'splits.userId': ?0 } ], 'active': true }")
-    Page<Expense> findByUserInvolvement(String userId, Pageable pageable);
+    /**
+     * Fields read by the list views; maps onto {@link ExpenseDTOs.ExpenseListItem}.
+     */
+    String LIST_FIELDS = "{ 'description': 1, 'totalAmount': 1, 'currency': 1, 'payerId': 1, 'payerName': 1, "
+            + "'groupId': 1, 'groupName': 1, 'category': 1, 'createdAt': 1, 'occurredAt': 1, "
+            + "'splits.userId': 1, 'splits.amountOwed': 1 }";
+
+    @Query(value = "{ $or: [ { 'payerId': ?0 }, { 'splits.userId': ?0 } ], 'active': true }", fields = LIST_FIELDS)
+    Page<ExpenseDTOs.ExpenseListItem> findListItemsByUserInvolvement(String userId, Pageable pageable);
+
+    @Query(value = "{ 'groupId': ?0, 'active': true }", fields = LIST_FIELDS)
+    List<ExpenseDTOs.ExpenseListItem> findListItemsByGroupId(String groupId);
 
     @Query("{ 'createdAt': { $gte: ?0, $lte: ?1 }, 'active': true }")
     List<Expense> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Active expense count and total per group, for groups that have no ledger document.
+     */
+    @Aggregation(pipeline = {
+        "{ $match: { 'groupId': { $in: ?0 }, 'active': true } }",
+        "{ $group: { _id: '$groupId', count: { $sum: 1 }, total: { $sum: { $toDecimal: '$totalAmount' } } } }"
+    })
+    List<GroupExpenseTotals> sumByGroupIds(Collection<String> groupIds);
+
     long countByPayerId(String payerId);
 
-    long countByGroupId(String groupId);
-}
\ No newline at end of file
+    record GroupExpenseTotals(String id, long count, BigDecimal total) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.splitpro.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Slice;
+
+import com.splitpro.dto.ExpenseDTOs;
+
+public interface ExpenseRepositoryCustom {
+
+    /**
+     * Keyset page of the expenses a user paid for or takes part in, newest first.
+     * Returns the expenses strictly after the {@code (createdAt, id)} position, or the
+     * first page when both are null. No total count is computed. Only the list
+     * fields are read.
+     */
+    Slice<ExpenseDTOs.ExpenseListItem> findFeedPage(String userId, LocalDateTime afterCreatedAt, String afterId, int size);
+}
@@ -0,0 +1,61 @@
+package com.splitpro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final Sort FEED_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Slice<ExpenseDTOs.ExpenseListItem> findFeedPage(String userId, LocalDateTime afterCreatedAt, String afterId, int size) {
+        // Each $or branch is served by its own (…, active, createdAt, _id) index and merged in order
+        Query query = new Query(new Criteria().orOperator(
+                feedBranch(Criteria.where("payerId").is(userId), afterCreatedAt, afterId),
+                feedBranch(Criteria.where("splits.userId").is(userId), afterCreatedAt, afterId)))
+                .with(FEED_ORDER)
+                .limit(size + 1);
+
+        Document fields = Document.parse(ExpenseRepository.LIST_FIELDS);
+        fields.keySet().forEach(query.fields()::include);
+
+        // Mapped against Expense, read straight into the list record
+        List<ExpenseDTOs.ExpenseListItem> expenses = mongoTemplate.query(Expense.class)
+                .as(ExpenseDTOs.ExpenseListItem.class)
+                .matching(query)
+                .all();
+        boolean hasNext = expenses.size() > size;
+        List<ExpenseDTOs.ExpenseListItem> content = hasNext ? expenses.subList(0, size) : expenses;
+
+        return new SliceImpl<>(content, PageRequest.of(0, size, FEED_ORDER), hasNext);
+    }
+
+    private static Criteria feedBranch(Criteria owner, LocalDateTime afterCreatedAt, String afterId) {
+        Criteria branch = owner.and("active").is(true);
+        if (afterCreatedAt == null) {
+            return branch;
+        }
+        // createdAt <= c bounds the index scan; the tie-break on _id only filters rows at c
+        return branch.and("createdAt").lte(afterCreatedAt)
+                .orOperator(
+                        Criteria.where("createdAt").lt(afterCreatedAt),
+                        Criteria.where("id").lt(afterId));
+    }
+}
@@ -3,6 +3,7 @@ package com.splitpro.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,9 +11,12 @@ import org.springframework.stereotype.Repository;
 import com.splitpro.model.Friend;
 
 @Repository
-public interface FriendRepository extends MongoRepository<Friend, String> {
+public interface FriendRepository extends MongoRepository<Friend, String>, FriendRepositoryCustom {
 
-    List<Friend> findByUserIdAndActiveTrue(String userId);
+    /**
+     * Dynamic projection: with a DTO type only that type's properties are read.
+     */
+    <T> List<T> findByUserIdAndActiveTrue(String userId, Class<T> type);
 
     Optional<Friend> findByUserIdAndFriendIdAndActiveTrue(String userId, String friendId);
 
@@ -23,6 +27,9 @@ public interface FriendRepository extends MongoRepository<Friend, String> {
 
     long countByUserIdAndActiveTrue(String userId);
 
-    @Query("{ 'userId': ?0, 'friendName': { $regex: ?1, $options: 'i' }, 'active': true }")
-    List<Friend> findByUserIdAndFriendNameContaining(String userId, String friendName);
+    /**
+     * Friends whose name has every token as a word prefix; see {@link com.splitpro.util.SearchKeys}.
+     */
+    @Query(value = "{ 'userId': ?0, 'active': true, 'searchKeys': { $all: ?1 } }", sort = "{ 'friendName': 1 }")
+    <T> List<T> searchByUserId(String userId, List<String> tokens, Pageable pageable, Class<T> type);
 }
\ No newline at end of file
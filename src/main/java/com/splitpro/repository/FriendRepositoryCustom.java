@@ -0,0 +1,11 @@
+package com.splitpro.repository;
+
+public interface FriendRepositoryCustom {
+
+    /**
+     * Applies all deltas to both directed friendship documents of each pair with a
+     * single unordered bulk write of atomic {@code $inc} updates, without reading first.
+     * Pairs that are not (active) friends are left untouched.
+     */
+    void applyBalanceDeltas(BalanceDeltas deltas);
+}
@@ -0,0 +1,50 @@
+package com.splitpro.repository;
+
+import java.math.BigDecimal;
+
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.splitpro.model.Friend;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class FriendRepositoryCustomImpl implements FriendRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void applyBalanceDeltas(BalanceDeltas deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Friend.class);
+        deltas.forEach((creditorId, debtorId, amount) -> {
+            bulk.updateOne(friendship(creditorId, debtorId), increment(amount));
+            bulk.updateOne(friendship(debtorId, creditorId), increment(amount.negate()));
+        });
+
+        BulkWriteResult result = bulk.execute();
+        log.debug("Applied {} balance deltas, {} friendship documents modified",
+                deltas.size(), result.getModifiedCount());
+    }
+
+    private static Query friendship(String userId, String friendId) {
+        return Query.query(Criteria.where("userId").is(userId)
+                .and("friendId").is(friendId)
+                .and("active").is(true));
+    }
+
+    private static Update increment(BigDecimal amount) {
+        return new Update().inc("balance", new Decimal128(amount));
+    }
+}
@@ -0,0 +1,10 @@
+package com.splitpro.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import com.splitpro.model.GroupLedger;
+
+@Repository
+public interface GroupLedgerRepository extends MongoRepository<GroupLedger, String>, GroupLedgerRepositoryCustom {
+}
@@ -0,0 +1,35 @@
+package com.splitpro.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import com.splitpro.model.Expense;
+
+public interface GroupLedgerRepositoryCustom {
+
+    /**
+     * Adds ({@code direction = 1}) or removes ({@code direction = -1}) the given group
+     * expenses, with one {@code $inc} per affected group in a single bulk write.
+     * Expenses without a group are ignored. Ledgers are never created here: a delta
+     * alone would miss the group's earlier expenses.
+     *
+     * @return ids of the affected groups that have no ledger yet
+     */
+    Set<String> applyExpenses(Collection<Expense> expenses, int direction);
+
+    /**
+     * Ids of groups with expenses or settlements but no ledger.
+     */
+    Set<String> findGroupIdsWithoutLedger();
+
+    /**
+     * Overwrites a group's ledger with freshly computed values (used by rebuilds), but
+     * only if it is still at {@code expectedVersion}; null means it must not exist yet.
+     *
+     * @return false if another write changed or created the ledger in the meantime
+     */
+    boolean replaceLedger(String groupId, Long expectedVersion, BigDecimal totalAmount, long expenseCount,
+                          Map<String, BigDecimal> balances);
+}
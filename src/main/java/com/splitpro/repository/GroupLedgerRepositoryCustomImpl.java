@@ -0,0 +1,140 @@
+package com.splitpro.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.splitpro.model.Expense;
+import com.splitpro.model.GroupLedger;
+import com.splitpro.model.Settlement;
+
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class GroupLedgerRepositoryCustomImpl implements GroupLedgerRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Set<String> applyExpenses(Collection<Expense> expenses, int direction) {
+        Map<String, LedgerChange> changes = new LinkedHashMap<>();
+        BigDecimal sign = BigDecimal.valueOf(direction);
+
+        for (Expense expense : expenses) {
+            if (expense.getGroupId() == null) {
+                continue;
+            }
+            LedgerChange change = changes.computeIfAbsent(expense.getGroupId(), id -> new LedgerChange());
+            BigDecimal total = expense.getTotalAmount().multiply(sign);
+            change.totalAmount = change.totalAmount.add(total);
+            change.expenseCount += direction;
+            // The payer fronted what the splits owe, so the ledger nets to zero even if
+            // an old expense's splits do not add up to its total
+            change.add(expense.getPayerId(), expense.getTotalSplitAmount().multiply(sign));
+            for (Expense.ExpenseSplit split : expense.getSplits()) {
+                change.add(split.getUserId(), split.getAmountOwed().multiply(sign).negate());
+            }
+        }
+
+        if (changes.isEmpty()) {
+            return Set.of();
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GroupLedger.class);
+        changes.forEach((groupId, change) -> {
+            Update update = new Update()
+                    .inc("totalAmount", new Decimal128(change.totalAmount))
+                    .inc("expenseCount", change.expenseCount)
+                    .inc("version", 1)
+                    .set("updatedAt", LocalDateTime.now());
+            change.balances.forEach((userId, amount) -> update.inc("balances." + userId, new Decimal128(amount)));
+            bulk.updateOne(byGroup(groupId), update);
+        });
+        if (bulk.execute().getMatchedCount() == changes.size()) {
+            return Set.of();
+        }
+
+        Set<String> missing = new HashSet<>(changes.keySet());
+        missing.removeAll(existingLedgerIds(changes.keySet()));
+        return missing;
+    }
+
+    @Override
+    public Set<String> findGroupIdsWithoutLedger() {
+        Set<String> groupIds = new HashSet<>();
+        Query withGroup = Query.query(Criteria.where("groupId").ne(null));
+        groupIds.addAll(mongoTemplate.findDistinct(withGroup, "groupId", Expense.class, String.class));
+        groupIds.addAll(mongoTemplate.findDistinct(withGroup, "groupId", Settlement.class, String.class));
+        groupIds.removeAll(existingLedgerIds(groupIds));
+        return groupIds;
+    }
+
+    private Set<String> existingLedgerIds(Collection<String> groupIds) {
+        Query query = Query.query(Criteria.where("_id").in(groupIds));
+        query.fields().include("_id");
+        Set<String> existing = new HashSet<>();
+        mongoTemplate.find(query, Document.class, "group_balances")
+                .forEach(ledger -> existing.add(String.valueOf(ledger.get("_id"))));
+        return existing;
+    }
+
+    @Override
+    public boolean replaceLedger(String groupId, Long expectedVersion, BigDecimal totalAmount, long expenseCount,
+                                 Map<String, BigDecimal> balances) {
+        Document balanceDocument = new Document();
+        balances.forEach((userId, amount) -> balanceDocument.append(userId, new Decimal128(amount)));
+
+        Update update = new Update()
+                .set("totalAmount", new Decimal128(totalAmount))
+                .set("expenseCount", expenseCount)
+                .set("balances", balanceDocument)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now());
+
+        if (expectedVersion == null) {
+            // There was no ledger when the history was read: insert, unless another write created one since
+            try {
+                mongoTemplate.upsert(byGroup(groupId).addCriteria(Criteria.where("version").exists(false)),
+                        update, GroupLedger.class);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+
+        // Ledgers written before versioning have no version field, which reads as 0
+        Criteria version = expectedVersion == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(expectedVersion);
+        return mongoTemplate.updateFirst(byGroup(groupId).addCriteria(version), update, GroupLedger.class)
+                .getMatchedCount() == 1;
+    }
+
+    private static Query byGroup(String groupId) {
+        return Query.query(Criteria.where("_id").is(groupId));
+    }
+
+    private static final class LedgerChange {
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+        private long expenseCount;
+        private final Map<String, BigDecimal> balances = new HashMap<>();
+
+        private void add(String userId, BigDecimal amount) {
+            balances.merge(userId, amount, BigDecimal::add);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.splitpro.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -16,8 +18,33 @@ public interface GroupRepository extends MongoRepository<Group, String> {
     @Query("{ 'members.userId': ?0, 'members.active': true, 'active': true }")
     List<Group> findByMemberUserId(String userId);
 
-    @Query("{ 'name': { $regex: ?0, $options: 'i' }, 'active': true }")
-    List<Group> findByNameContainingIgnoreCase(String name);
+    String SUMMARY_FIELDS = "{ 'name': 1, 'description': 1, 'createdBy': 1, 'createdAt': 1, "
+            + "'members.userId': 1, 'members.active': 1 }";
+
+    @Query(value = "{ 'members.userId': ?0, 'members.active': true, 'active': true }", fields = SUMMARY_FIELDS)
+    List<GroupSummary> findSummariesByMemberUserId(String userId);
+
+    /**
+     * The user's groups whose name has every token as a word prefix. Served by the
+     * member index; searchKeys only filters the user's own groups.
+     */
+    @Query(value = "{ 'members.userId': ?0, 'members.active': true, 'active': true, 'searchKeys': { $all: ?1 } }",
+           fields = SUMMARY_FIELDS, sort = "{ 'name': 1 }")
+    List<GroupSummary> searchSummariesByMemberUserId(String userId, List<String> tokens, Pageable pageable);
 
     long countByCreatedBy(String createdBy);
-}
\ No newline at end of file
+
+    /**
+     * List-view projection of a group. Members carry only their id and status.
+     */
+    record GroupSummary(String id, String name, String description, String createdBy,
+                        LocalDateTime createdAt, List<MemberRef> members) {
+
+        public int activeMemberCount() {
+            return members == null ? 0 : (int) members.stream().filter(MemberRef::active).count();
+        }
+    }
+
+    record MemberRef(String userId, boolean active) {
+    }
+}
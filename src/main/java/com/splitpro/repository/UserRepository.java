@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository;
 import com.splitpro.model.User;
 
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
 
@@ -0,0 +1,27 @@
+package com.splitpro.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Counts a failed login with an atomic {@code $inc} and locks the account until
+     * {@code lockedUntil} once the count reaches {@code maxAttempts}. An account that is
+     * already locked keeps its original lock expiry.
+     *
+     * @return the new number of failed attempts, or 0 if the user does not exist
+     */
+    int recordFailedLogin(String userId, int maxAttempts, LocalDateTime lockedUntil);
+
+    /**
+     * Clears the failed-login count and any lock with a single {@code $set}.
+     */
+    void resetFailedLogins(String userId);
+
+    /**
+     * Writes {@code lastLoginAt} for many users in one unordered bulk write. Uses
+     * {@code $max}, so a late flush never moves a timestamp backwards.
+     */
+    void updateLastLoginAt(Map<String, LocalDateTime> lastLogins);
+}
@@ -0,0 +1,66 @@
+package com.splitpro.repository;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.splitpro.model.User;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public int recordFailedLogin(String userId, int maxAttempts, LocalDateTime lockedUntil) {
+        Query byId = Query.query(Criteria.where("_id").is(userId));
+        byId.fields().include("failedLoginAttempts");
+
+        User counted = mongoTemplate.findAndModify(byId, new Update().inc("failedLoginAttempts", 1),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (counted == null) {
+            return 0;
+        }
+
+        int attempts = counted.getFailedLoginAttempts();
+        if (attempts >= maxAttempts) {
+            // Concurrent failures may all get here; only the first one sets the expiry
+            mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(userId).and("accountLocked").ne(true)),
+                    new Update().set("accountLocked", true).set("lockedUntil", lockedUntil),
+                    User.class);
+        }
+        return attempts;
+    }
+
+    @Override
+    public void resetFailedLogins(String userId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().set("failedLoginAttempts", 0).set("accountLocked", false).unset("lockedUntil"),
+                User.class);
+    }
+
+    @Override
+    public void updateLastLoginAt(Map<String, LocalDateTime> lastLogins) {
+        if (lastLogins.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        lastLogins.forEach((userId, lastLoginAt) ->
+                bulk.updateOne(Query.query(Criteria.where("_id").is(userId)),
+                        new Update().max("lastLoginAt", lastLoginAt)));
+        bulk.execute();
+        log.debug("Flushed lastLoginAt for {} users", lastLogins.size());
+    }
+}
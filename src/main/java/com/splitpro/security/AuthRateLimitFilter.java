@@ -0,0 +1,222 @@
+package com.splitpro.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.splitpro.dto.AuthDTOs;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Throttles the unauthenticated auth endpoints before they reach the database or
+ * bcrypt: one token bucket per client IP and, for login and password reset, one per
+ * account identifier, so neither a single source nor a distributed attack on one
+ * account gets more than its share. Throttled requests get 429 with Retry-After.
+ * Identifier buckets are only created for requests the IP limit let through, so
+ * spraying made-up identifiers costs the sender its IP budget.
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}, which is the real
+ * client only when the proxy headers are trusted ({@code server.forward-headers-strategy}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    // Endpoint -> JSON field holding the account identifier (empty: per-IP only)
+    private static final Map<String, String> LIMITED_ENDPOINTS = Map.of(
+            "/api/auth/login", "identifier",
+            "/api/auth/forgot-password", "email",
+            "/api/auth/signup", "");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${splitpro.rate-limit.auth.requests-per-minute:5}")
+    private int identifierRequestsPerMinute;
+
+    @Value("${splitpro.rate-limit.auth.ip-requests-per-minute:20}")
+    private int ipRequestsPerMinute;
+
+    @Value("${splitpro.rate-limit.auth.max-keys:100000}")
+    private long maxKeys;
+
+    private TokenBucketLimiter ipLimiter;
+    private TokenBucketLimiter identifierLimiter;
+
+    @PostConstruct
+    public void init() {
+        this.ipLimiter = new TokenBucketLimiter(ipRequestsPerMinute, maxKeys);
+        this.identifierLimiter = new TokenBucketLimiter(identifierRequestsPerMinute, maxKeys);
+
+        Gauge.builder("splitpro.rate-limit.buckets", ipLimiter, TokenBucketLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("splitpro.rate-limit.buckets", identifierLimiter, TokenBucketLimiter::size)
+                .tag("key", "identifier")
+                .register(meterRegistry);
+        log.info("Auth rate limit initialized ({} per minute per identifier, {} per minute per IP)",
+                identifierRequestsPerMinute, ipRequestsPerMinute);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !LIMITED_ENDPOINTS.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(request, response, "ip", waitNanos);
+            return;
+        }
+
+        String identifierField = LIMITED_ENDPOINTS.get(request.getServletPath());
+        if (!identifierField.isEmpty()) {
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                return;
+            }
+            String identifier = readIdentifier(body, identifierField);
+            if (identifier != null) {
+                waitNanos = identifierLimiter.tryAcquire(identifier);
+                if (waitNanos > 0) {
+                    reject(request, response, "identifier", waitNanos);
+                    return;
+                }
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Malformed bodies are left for the controller to reject; they are still limited per IP
+    private String readIdentifier(byte[] body, String field) {
+        try {
+            JsonNode value = objectMapper.readTree(body).path(field);
+            return value.isTextual() && !value.asText().isBlank()
+                    ? value.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String key, long waitNanos)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        meterRegistry.counter("splitpro.rate-limit.rejected", "key", key).increment();
+        log.warn("Rate limited {} by {} from {}", request.getServletPath(), key, request.getRemoteAddr());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), AuthDTOs.ErrorResponse.of(
+                "Too many attempts, please retry in " + retryAfterSeconds + " seconds",
+                HttpStatus.TOO_MANY_REQUESTS.value(), request.getRequestURI()));
+    }
+
+    /**
+     * Replays a body that was already read so the controller can bind it.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory: all of it is available at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (in.available() > 0) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
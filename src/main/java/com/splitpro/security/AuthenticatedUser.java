@@ -0,0 +1,39 @@
+package com.splitpro.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import lombok.Value;
+
+/**
+ * Principal built purely from access token claims, so authenticated requests
+ * do not need to load the {@link com.splitpro.model.User} document.
+ */
+@Value
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    String userId;
+    String username;
+    String refreshTokenVersion;
+    Collection<GrantedAuthority> authorities;
+
+    public static AuthenticatedUser from(VerifiedToken token) {
+        List<String> roles = token.getAuthorities().isEmpty()
+                ? List.of("ROLE_USER")
+                : token.getAuthorities();
+        Collection<GrantedAuthority> authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        return new AuthenticatedUser(token.getUserId(), token.getSubject(),
+                token.getRefreshTokenVersion(), authorities);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -33,6 +33,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Value("${splitpro.security.jwt.cookie-name:split-pro-token}")
     private String cookieName;
 
+    @Value("${splitpro.security.jwt.stateless:true}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -69,32 +72,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private void authenticateWithToken(String jwt, HttpServletRequest request) {
         try {
-            String username = jwtService.extractUsername(jwt);
+            // Single parse-and-verify pass; everything below reads from the verified claims
+            VerifiedToken token = jwtService.verify(jwt).orElse(null);
+            
+            if (token == null || !token.isAccessToken() || token.getSubject() == null) {
+                log.debug("Invalid, expired or non-access token presented");
+                return;
+            }
             
-            if (username != null) {
-                UserDetails userDetails = userService.loadUserByUsername(username);
+            if (stateless && token.isSelfContained()) {
+                authenticateFromClaims(token, request);
+                return;
+            }
+            
+            String username = token.getSubject();
+            UserDetails userDetails = userService.loadUserByUsername(username);
+            
+            if (jwtService.isTokenValid(token, userDetails)) {
+                UsernamePasswordAuthenticationToken authToken = 
+                    new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                    );
+                
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+                request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
                 
-                if (jwtService.isTokenValid(jwt, userDetails) && jwtService.isAccessToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = 
-                        new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                        );
-                    
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("Authentication successful for user: {}", username);
-                } else {
-                    log.debug("Invalid or expired token for user: {}", username);
-                }
+                log.debug("Authentication successful for user: {}", username);
+            } else {
+                log.debug("Invalid or expired token for user: {}", username);
             }
         } catch (Exception e) {
             log.warn("JWT authentication failed: {}", e.getMessage());
         }
     }
 
+    private void authenticateFromClaims(VerifiedToken token, HttpServletRequest request) {
+        if (!userService.isCurrentTokenVersion(token.getUserId(), token.getRefreshTokenVersion())) {
+            log.debug("Revoked token version for user: {}", token.getUserId());
+            return;
+        }
+        
+        AuthenticatedUser principal = AuthenticatedUser.from(token);
+        UsernamePasswordAuthenticationToken authToken = 
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        request.setAttribute(VerifiedToken.REQUEST_ATTRIBUTE, token);
+        
+        log.debug("Stateless authentication successful for user: {}", token.getUserId());
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
@@ -102,6 +133,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return path.equals("/api/auth/signup") ||
                path.equals("/api/auth/login") || 
                path.equals("/api/auth/forgot-password") ||
+               path.equals("/api/auth/refresh") ||
                path.equals("/api/support") ||
                path.startsWith("/css/") ||
                path.startsWith("/js/") ||
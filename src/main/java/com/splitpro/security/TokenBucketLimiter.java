@@ -0,0 +1,83 @@
+package com.splitpro.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token buckets keyed by string, each holding {@code capacity} tokens that refill
+ * evenly over a minute. A bucket is a single {@link AtomicLong} (the time at which it
+ * will be full again, in the style of GCRA), so taking a token is one CAS with no
+ * lock. Buckets expire once idle long enough to have refilled, which loses nothing.
+ * <p>
+ * The number of buckets is capped at {@code maxKeys} without evicting live ones:
+ * evicting would hand a fresh bucket to whoever was throttled, so an attacker could
+ * reset real buckets by spraying junk keys. At capacity, new keys share one overflow
+ * bucket until idle buckets expire, so filling the table slows newcomers down rather
+ * than locking them all out, and known keys keep their own budget. Concurrent first
+ * requests may overshoot the cap by a few keys.
+ */
+class TokenBucketLimiter {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+    private final long maxKeys;
+    private final long intervalNanos;
+    private final long windowNanos;
+
+    TokenBucketLimiter(int requestsPerMinute, long maxKeys) {
+        if (requestsPerMinute <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("Rate limit requests per minute and max keys must be positive, got "
+                    + requestsPerMinute + " and " + maxKeys);
+        }
+        this.maxKeys = maxKeys;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        this.windowNanos = intervalNanos * requestsPerMinute;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(windowNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key}.
+     *
+     * @return 0 if a token was available, otherwise the nanoseconds until one will be
+     */
+    long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.getIfPresent(key);
+        if (fullAt == null) {
+            fullAt = isFull() ? overflow : buckets.get(key, k -> new AtomicLong(now));
+        }
+        return take(fullAt, now);
+    }
+
+    private long take(AtomicLong fullAt, long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long backlog = next - now;
+            if (backlog > windowNanos) {
+                return backlog - windowNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private boolean isFull() {
+        if (buckets.estimatedSize() < maxKeys) {
+            return false;
+        }
+        // The estimate still counts expired buckets until they are cleaned up
+        buckets.cleanUp();
+        return buckets.estimatedSize() >= maxKeys;
+    }
+
+    long size() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,77 @@
+package com.splitpro.security;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ * Created once per token by {@link com.splitpro.service.JwtService#verify(String)}
+ * so callers never have to parse the same token twice.
+ */
+@Value
+@Builder
+public class VerifiedToken {
+
+    public static final String REQUEST_ATTRIBUTE = VerifiedToken.class.getName();
+
+    String tokenId;
+    String subject;
+    String userId;
+    String type;
+    String tokenVersion;
+    String refreshTokenVersion;
+    List<String> authorities;
+    Date issuedAt;
+    Date expiration;
+
+    public static VerifiedToken from(Claims claims) {
+        return VerifiedToken.builder()
+                .tokenId(claims.getId())
+                .subject(claims.getSubject())
+                .userId(claims.get("userId", String.class))
+                .type(claims.get("type", String.class))
+                .tokenVersion(claims.get("tokenVersion", String.class))
+                .refreshTokenVersion(claims.get("refreshTokenVersion", String.class))
+                .authorities(readAuthorities(claims.get("authorities")))
+                .issuedAt(claims.getIssuedAt())
+                .expiration(claims.getExpiration())
+                .build();
+    }
+
+    // Older tokens serialized GrantedAuthority objects ({"authority": "ROLE_USER"}), newer ones plain strings
+    private static List<String> readAuthorities(Object claim) {
+        if (!(claim instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(value -> value instanceof Map<?, ?> map ? map.get("authority") : value)
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .toList();
+    }
+
+    /**
+     * True when the token carries everything needed to authenticate without a user lookup.
+     */
+    public boolean isSelfContained() {
+        return userId != null && subject != null && refreshTokenVersion != null;
+    }
+
+    public boolean isAccessToken() {
+        return "access".equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() < System.currentTimeMillis();
+    }
+}
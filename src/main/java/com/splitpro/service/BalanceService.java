@@ -18,12 +18,19 @@ import lombok.extern.slf4j.Slf4j;
 public class BalanceService {
 
     private final FriendService friendService;
+    private final GroupLedgerService groupLedgerService;
 
     public ExpenseDTOs.BalanceResponse getUserBalances(String userId) {
-        List<ExpenseDTOs.FriendResponse> friends = friendService.getUserFriends(userId);
-        
+        return toBalanceResponse(friendService.getUserFriends(userId), groupLedgerService.getUserGroupBalances(userId));
+    }
+
+    /**
+     * Totals from already-loaded friend and group balances, for callers that read them
+     * anyway.
+     */
+    public ExpenseDTOs.BalanceResponse toBalanceResponse(List<ExpenseDTOs.FriendResponse> friends,
+                                                         Map<String, BigDecimal> groupBalances) {
         Map<String, BigDecimal> friendBalances = new HashMap<>();
-        Map<String, BigDecimal> groupBalances = new HashMap<>(); // TODO: Implement group balances
         
         BigDecimal totalOwed = BigDecimal.ZERO;
         BigDecimal totalOwedToYou = BigDecimal.ZERO;
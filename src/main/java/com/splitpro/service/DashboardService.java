@@ -0,0 +1,129 @@
+package com.splitpro.service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.splitpro.dto.AuthDTOs;
+import com.splitpro.dto.ExpenseDTOs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Everything the first screen needs in one call. The reads are independent, so they
+ * run concurrently on a small bounded pool and the response takes as long as the
+ * slowest one instead of the sum of all of them. When the pool and its queue are
+ * full the request thread runs the read itself, so overload degrades to sequential
+ * reads rather than errors.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final int RECENT_EXPENSES = 20;
+
+    private final UserService userService;
+    private final FriendService friendService;
+    private final GroupService groupService;
+    private final BalanceService balanceService;
+    private final ExpenseService expenseService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${splitpro.dashboard.pool-size:16}")
+    private int poolSize;
+
+    @Value("${splitpro.dashboard.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${splitpro.dashboard.timeout:5000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "dashboard");
+        log.info("Dashboard executor initialized (pool size: {}, queue: {})", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public ExpenseDTOs.DashboardResponse getDashboard(String userId) {
+        CompletableFuture<AuthDTOs.UserResponse> user = async(() -> userService.findById(userId)
+                .map(userService::toUserResponse)
+                .orElseThrow(() -> new IllegalArgumentException("User not found")));
+        CompletableFuture<List<ExpenseDTOs.FriendResponse>> friends = async(() -> friendService.getUserFriends(userId));
+        // The group list and the group balances share one read of the groups and their ledgers
+        CompletableFuture<GroupService.UserGroups> groups = async(() -> groupService.getUserGroupsWithBalances(userId));
+        CompletableFuture<ExpenseDTOs.ExpenseFeedResponse> recentExpenses =
+                async(() -> expenseService.getUserExpenseFeed(userId, null, RECENT_EXPENSES));
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(user, friends, groups, recentExpenses);
+        try {
+            all.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading dashboard", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Dashboard for user " + userId + " timed out after " + timeoutMillis + " ms", e);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } finally {
+            if (!all.isDone()) {
+                List.of(user, friends, groups, recentExpenses).forEach(future -> future.cancel(true));
+            }
+        }
+
+        // Every future is complete here, so join() never blocks
+        return ExpenseDTOs.DashboardResponse.builder()
+                .user(user.join())
+                .balances(balanceService.toBalanceResponse(friends.join(), groups.join().balances()))
+                .friends(friends.join())
+                .groups(groups.join().groups())
+                .recentExpenses(recentExpenses.join())
+                .build();
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> read) {
+        return CompletableFuture.supplyAsync(read, executor);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+}
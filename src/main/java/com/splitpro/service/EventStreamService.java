@@ -0,0 +1,291 @@
+package com.splitpro.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.splitpro.event.BalancesChangedEvent;
+import com.splitpro.event.ExpenseChangedEvent;
+import com.splitpro.model.Expense;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes expense and balance events to connected users over SSE.
+ * <p>
+ * Connections are async requests, so an idle connection holds no thread. Domain
+ * events are copied into each recipient connection's bounded queue (the oldest event
+ * is dropped when it is full) and a small dispatcher pool drains the queues, at most
+ * one task per connection, so a slow client never blocks the publisher or other
+ * clients. A heartbeat comment keeps idle connections open through proxies and
+ * detects dead ones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventStreamService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${splitpro.stream.max-connections:10000}")
+    private int maxConnections;
+
+    @Value("${splitpro.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${splitpro.stream.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${splitpro.stream.heartbeat-interval:15000}")
+    private long heartbeatMillis;
+
+    @Value("${splitpro.stream.timeout:1800000}")
+    private long timeoutMillis;
+
+    @Value("${splitpro.stream.dispatcher-threads:8}")
+    private int dispatcherThreads;
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private ThreadPoolExecutor dispatcher;
+    private ScheduledExecutorService heartbeat;
+    private Counter droppedEvents;
+
+    @PostConstruct
+    public void init() {
+        // Each connection has at most one drain task pending, so the queue never outgrows the connections
+        dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory("sse-dispatch-"));
+        dispatcher.allowCoreThreadTimeOut(true);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(threadFactory("sse-heartbeat-"));
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("splitpro.stream.connections", connectionCount, AtomicInteger::get)
+                .description("Open server-sent event connections")
+                .register(meterRegistry);
+        droppedEvents = Counter.builder("splitpro.stream.dropped")
+                .description("Events dropped because a connection's queue was full")
+                .register(meterRegistry);
+        log.info("Event stream initialized (max connections: {}, queue: {}, heartbeat: {} ms)",
+                maxConnections, queueCapacity, heartbeatMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> connection.emitter.complete()));
+    }
+
+    /**
+     * Opens a stream for the user.
+     *
+     * @throws IllegalStateException when the node or the user is at the connection limit
+     */
+    public SseEmitter connect(String userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("Event stream connection limit reached");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = new Connection(userId, emitter);
+        try {
+            // Added under the map's lock so a concurrent remove() cannot discard the set
+            connections.compute(userId, (id, userConnections) -> {
+                Set<Connection> updated = userConnections != null ? userConnections : ConcurrentHashMap.newKeySet();
+                if (updated.size() >= maxConnectionsPerUser) {
+                    throw new IllegalStateException("Too many open streams for user " + userId);
+                }
+                updated.add(connection);
+                return updated;
+            });
+        } catch (IllegalStateException e) {
+            connectionCount.decrementAndGet();
+            throw e;
+        }
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        connection.offer(SseEmitter.event().name("ready").reconnectTime(heartbeatMillis).data(Map.of("userId", userId)));
+        return emitter;
+    }
+
+    @EventListener
+    public void onExpenseChanged(ExpenseChangedEvent event) {
+        Expense expense = event.expense();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("action", event.action().name());
+        data.put("expenseId", expense.getId());
+        data.put("description", expense.getDescription());
+        data.put("totalAmount", expense.getTotalAmount());
+        data.put("currency", expense.getCurrency());
+        data.put("payerId", expense.getPayerId());
+        data.put("payerName", expense.getPayerName());
+        data.put("groupId", expense.getGroupId());
+
+        Set<String> recipients = new LinkedHashSet<>();
+        recipients.add(expense.getPayerId());
+        expense.getSplits().forEach(split -> recipients.add(split.getUserId()));
+        recipients.forEach(userId -> publish(userId, "expense", data));
+    }
+
+    @EventListener
+    public void onBalancesChanged(BalancesChangedEvent event) {
+        // Each side sees the change from its own perspective: positive means the friend owes you more
+        event.deltas().forEach((creditorId, debtorId, amount) -> {
+            publish(creditorId, "balance", balanceChange(debtorId, amount));
+            publish(debtorId, "balance", balanceChange(creditorId, amount.negate()));
+        });
+    }
+
+    private static Map<String, Object> balanceChange(String friendId, BigDecimal delta) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("friendId", friendId);
+        data.put("delta", delta);
+        return data;
+    }
+
+    private void publish(String userId, String name, Object data) {
+        Set<Connection> userConnections = connections.get(userId);
+        if (userConnections == null || userConnections.isEmpty()) {
+            return;
+        }
+        for (Connection connection : userConnections) {
+            connection.offer(SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    private void sendHeartbeats() {
+        try {
+            connections.values().forEach(userConnections ->
+                    userConnections.forEach(connection -> connection.offer(SseEmitter.event().comment("heartbeat"))));
+        } catch (RuntimeException e) {
+            log.warn("Failed to queue heartbeats: {}", e.getMessage());
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connectionCount.decrementAndGet();
+        connections.computeIfPresent(connection.userId, (userId, userConnections) -> {
+            userConnections.remove(connection);
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One open stream. Offers never block; sends happen on the dispatcher, one drain
+     * task at a time per connection so events stay in order.
+     */
+    private final class Connection {
+
+        private final String userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Connection(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            lock.lock();
+            try {
+                if (queue.size() >= queueCapacity) {
+                    queue.pollFirst();
+                    droppedEvents.increment();
+                }
+                queue.addLast(event);
+            } finally {
+                lock.unlock();
+            }
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event = poll();
+                if (event == null) {
+                    draining.set(false);
+                    // An offer may have landed between the empty poll and the reset
+                    if (isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away; the container raises the error that completes the emitter
+                    remove(this);
+                    return;
+                }
+            }
+        }
+
+        private SseEmitter.SseEventBuilder poll() {
+            lock.lock();
+            try {
+                return closed.get() ? null : queue.pollFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean isEmpty() {
+            lock.lock();
+            try {
+                return closed.get() || queue.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
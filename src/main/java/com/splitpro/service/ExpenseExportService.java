@@ -0,0 +1,210 @@
+package com.splitpro.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a user's expense history straight from a Mongo cursor to an output stream.
+ * Documents are read raw with a projection and written one row at a time, so memory
+ * use does not depend on the number of expenses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("occurredAt")
+            .addColumn("createdAt")
+            .addColumn("description")
+            .addColumn("category")
+            .addColumn("currency")
+            .addColumn("totalAmount")
+            .addColumn("payerName")
+            .addColumn("groupName")
+            .addColumn("yourShare")
+            .addColumn("notes")
+            .setUseHeader(true)
+            .build();
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param from first day of {@code occurredAt} to include, or null
+     * @param to   last day of {@code occurredAt} to include, or null
+     * @return the number of expenses written
+     */
+    public long export(String userId, LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        Query query = exportQuery(userId, from, to);
+        long rows = 0;
+
+        // Neither writer may close the response stream; the caller owns it
+        try (Stream<Document> expenses = mongoTemplate.stream(query, Document.class, "expenses");
+             SequenceWriter writer = format == Format.CSV
+                     ? CSV_MAPPER.writer(CSV_SCHEMA).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)
+                     : objectMapper.writer().withRootValueSeparator("\n")
+                             .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)) {
+            Iterator<Document> iterator = expenses.iterator();
+            while (iterator.hasNext()) {
+                Document expense = iterator.next();
+                writer.write(format == Format.CSV ? csvRow(expense, userId) : ndjsonRow(expense, userId));
+                rows++;
+            }
+        }
+        if (format == Format.NDJSON && rows > 0) {
+            out.write('\n');
+        }
+
+        log.info("Exported {} expenses for user {}", rows, userId);
+        return rows;
+    }
+
+    private Query exportQuery(String userId, LocalDate from, LocalDate to) {
+        // Same $or shape as the feed, so each branch walks payer_feed / participant_feed in order
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("payerId").is(userId).and("active").is(true),
+                Criteria.where("splits.userId").is(userId).and("active").is(true)));
+        if (from != null || to != null) {
+            Criteria occurredAt = Criteria.where("occurredAt");
+            if (from != null) {
+                occurredAt.gte(toDate(from.atStartOfDay()));
+            }
+            if (to != null) {
+                occurredAt.lt(toDate(to.plusDays(1).atStartOfDay()));
+            }
+            query.addCriteria(occurredAt);
+        }
+        query.fields()
+                .include("description", "totalAmount", "currency", "payerId", "payerName", "groupId", "groupName",
+                        "category", "occurredAt", "createdAt", "notes", "splits.userId", "splits.userName",
+                        "splits.amountOwed");
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"));
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+        return query;
+    }
+
+    private static CsvRow csvRow(Document expense, String userId) {
+        return new CsvRow(
+                String.valueOf(expense.get("_id")),
+                formatDate(expense.getDate("occurredAt")),
+                formatDate(expense.getDate("createdAt")),
+                csvText(expense.getString("description")),
+                csvText(expense.getString("category")),
+                csvText(expense.getString("currency")),
+                toBigDecimal(expense.get("totalAmount")),
+                csvText(expense.getString("payerName")),
+                csvText(expense.getString("groupName")),
+                shareOf(expense, userId),
+                csvText(expense.getString("notes")));
+    }
+
+    /**
+     * User-entered text for a CSV cell. Spreadsheets run cells starting with
+     * {@code = + - @}, tab or carriage return as formulas, so those get a leading
+     * {@code '} (OWASP CSV injection guidance). NDJSON is not opened by spreadsheets
+     * and keeps the text as entered.
+     */
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        return switch (value.charAt(0)) {
+            case '=', '+', '-', '@', '\t', '\r' -> "'" + value;
+            default -> value;
+        };
+    }
+
+    private static ExportedExpense ndjsonRow(Document expense, String userId) {
+        List<ExportedSplit> splits = new ArrayList<>();
+        for (Document split : expense.getList("splits", Document.class, List.of())) {
+            splits.add(new ExportedSplit(split.getString("userId"), split.getString("userName"),
+                    toBigDecimal(split.get("amountOwed"))));
+        }
+        return new ExportedExpense(
+                String.valueOf(expense.get("_id")),
+                formatDate(expense.getDate("occurredAt")),
+                formatDate(expense.getDate("createdAt")),
+                expense.getString("description"),
+                expense.getString("category"),
+                expense.getString("currency"),
+                toBigDecimal(expense.get("totalAmount")),
+                expense.getString("payerId"),
+                expense.getString("payerName"),
+                expense.getString("groupId"),
+                expense.getString("groupName"),
+                shareOf(expense, userId),
+                expense.getString("notes"),
+                splits);
+    }
+
+    private static BigDecimal shareOf(Document expense, String userId) {
+        for (Document split : expense.getList("splits", Document.class, List.of())) {
+            if (userId.equals(split.getString("userId"))) {
+                return toBigDecimal(split.get("amountOwed"));
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    // Amounts may be stored as Decimal128 or as strings
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue();
+        }
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    private static String formatDate(Date date) {
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toString() : null;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    private record CsvRow(String id, String occurredAt, String createdAt, String description, String category,
+                          String currency, BigDecimal totalAmount, String payerName, String groupName,
+                          BigDecimal yourShare, String notes) {
+    }
+
+    private record ExportedExpense(String id, String occurredAt, String createdAt, String description,
+                                   String category, String currency, BigDecimal totalAmount, String payerId,
+                                   String payerName, String groupId, String groupName, BigDecimal yourShare,
+                                   String notes, List<ExportedSplit> splits) {
+    }
+
+    private record ExportedSplit(String userId, String userName, BigDecimal amountOwed) {
+    }
+}
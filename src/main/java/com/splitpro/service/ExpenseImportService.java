@@ -0,0 +1,329 @@
+package com.splitpro.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+import com.splitpro.model.Group;
+import com.splitpro.model.User;
+import com.splitpro.repository.BalanceDeltas;
+import com.splitpro.repository.GroupRepository;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk expense import for NDJSON or CSV bodies. Rows are parsed as they arrive and
+ * processed in chunks: one participant lookup, one group lookup and one insert per
+ * chunk. Friend balance deltas from the whole import go out in one bulk write at the
+ * end. A bad row is reported and skipped; it never fails the import. Input that
+ * cannot be parsed stops the import with an error row; a database failure is not
+ * the client's fault and propagates as a server error.
+ * <p>
+ * CSV columns: {@code description,totalAmount,currency,groupId,category,occurredAt,notes,splits}
+ * where {@code splits} is {@code userId[:TYPE[:value]]} separated by {@code ;}
+ * (type defaults to EQUAL).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExpenseImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.emptySchema().withHeader();
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserCache userCache;
+    private final GroupRepository groupRepository;
+    private final MongoTemplate mongoTemplate;
+    private final FriendService friendService;
+    private final GroupLedgerService groupLedgerService;
+
+    @Value("${splitpro.import.chunk-size:500}")
+    private int chunkSize;
+
+    public ExpenseDTOs.ImportResponse importExpenses(String payerId, InputStream body, Format format) {
+        return importExpenses(payerId, body, format, progress -> { });
+    }
+
+    /**
+     * @param onProgress called with the running counters after every chunk is written
+     */
+    public ExpenseDTOs.ImportResponse importExpenses(String payerId, InputStream body, Format format,
+                                                     Consumer<ExpenseDTOs.ImportResponse> onProgress) {
+        User payer = userCache.findById(payerId)
+                .orElseThrow(() -> new IllegalArgumentException("Payer not found"));
+
+        ImportRun run = new ImportRun(payer, onProgress);
+        try {
+            if (format == Format.CSV) {
+                readCsv(body, run);
+            } else {
+                readNdjson(body, run);
+            }
+        } catch (IOException e) {
+            // Malformed input (Jackson parse errors are IOExceptions); rows before it are still imported
+            run.reject(run.rowsRead + 1, "Unreadable input, import stopped: " + e.getMessage());
+        } finally {
+            run.finish();
+        }
+
+        log.info("Import for user {} finished: {} rows, {} imported, {} failed",
+                payerId, run.rowsRead, run.imported, run.failed);
+        return ExpenseDTOs.ImportResponse.builder()
+                .rowsRead(run.rowsRead)
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .done(true)
+                .build();
+    }
+
+    private void readNdjson(InputStream body, ImportRun run) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            while (parser.nextToken() != null) {
+                // Syntax errors abort the stream; binding errors only reject the row
+                JsonNode node = parser.readValueAsTree();
+                int row = ++run.rowsRead;
+                try {
+                    run.accept(row, objectMapper.treeToValue(node, ExpenseDTOs.CreateExpenseRequest.class));
+                } catch (JsonProcessingException e) {
+                    run.reject(row, "Invalid row: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException {
+        try (MappingIterator<Map<String, String>> rows = CSV_MAPPER.readerForMapOf(String.class)
+                .with(CSV_SCHEMA)
+                .readValues(body)) {
+            while (rows.hasNextValue()) {
+                Map<String, String> values = rows.nextValue();
+                int row = ++run.rowsRead;
+                try {
+                    run.accept(row, fromCsv(values));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    run.reject(row, "Invalid row: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static ExpenseDTOs.CreateExpenseRequest fromCsv(Map<String, String> values) {
+        String amount = blankToNull(values.get("totalAmount"));
+        String currency = blankToNull(values.get("currency"));
+        String category = blankToNull(values.get("category"));
+        String occurredAt = blankToNull(values.get("occurredAt"));
+
+        return ExpenseDTOs.CreateExpenseRequest.builder()
+                .description(blankToNull(values.get("description")))
+                .totalAmount(amount != null ? new BigDecimal(amount) : null)
+                .currency(currency != null ? currency : "USD")
+                .groupId(blankToNull(values.get("groupId")))
+                .category(category != null ? Expense.ExpenseCategory.valueOf(category.toUpperCase(Locale.ROOT)) : null)
+                .occurredAt(occurredAt != null ? parseDateTime(occurredAt) : null)
+                .notes(blankToNull(values.get("notes")))
+                .splits(parseSplits(values.get("splits")))
+                .build();
+    }
+
+    private static List<ExpenseDTOs.SplitRequest> parseSplits(String value) {
+        List<ExpenseDTOs.SplitRequest> splits = new ArrayList<>();
+        if (value == null) {
+            return splits;
+        }
+        for (String entry : value.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":", 3);
+            ExpenseDTOs.SplitRequest split = new ExpenseDTOs.SplitRequest();
+            split.setUserId(parts[0].trim());
+            split.setSplitType(parts.length > 1
+                    ? Expense.SplitType.valueOf(parts[1].trim().toUpperCase(Locale.ROOT))
+                    : Expense.SplitType.EQUAL);
+            if (parts.length > 2) {
+                split.setSplitValue(new BigDecimal(parts[2].trim()));
+            }
+            splits.add(split);
+        }
+        return splits;
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record PendingRow(int row, ExpenseDTOs.CreateExpenseRequest request) {
+    }
+
+    /**
+     * State of one import: the chunk being filled, the balance deltas of everything
+     * inserted so far, and the row counters.
+     */
+    private final class ImportRun {
+
+        private final User payer;
+        private final Consumer<ExpenseDTOs.ImportResponse> onProgress;
+        private final List<PendingRow> chunk = new ArrayList<>();
+        private final BalanceDeltas deltas = new BalanceDeltas();
+        private final List<ExpenseDTOs.ImportError> errors = new ArrayList<>();
+        private int rowsRead;
+        private int imported;
+        private int failed;
+
+        private ImportRun(User payer, Consumer<ExpenseDTOs.ImportResponse> onProgress) {
+            this.payer = payer;
+            this.onProgress = onProgress;
+        }
+
+        private void accept(int row, ExpenseDTOs.CreateExpenseRequest request) {
+            String violations = validate(request);
+            if (violations != null) {
+                reject(row, violations);
+                return;
+            }
+            chunk.add(new PendingRow(row, request));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void reject(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ExpenseDTOs.ImportError(row, message));
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Set<String> userIds = new HashSet<>();
+            Set<String> groupIds = new HashSet<>();
+            for (PendingRow pending : chunk) {
+                pending.request().getSplits().forEach(split -> userIds.add(split.getUserId()));
+                if (pending.request().getGroupId() != null) {
+                    groupIds.add(pending.request().getGroupId());
+                }
+            }
+            Map<String, User> users = userCache.findAllById(userIds);
+            Map<String, Group> groups = groupIds.isEmpty() ? Map.of()
+                    : groupRepository.findAllById(groupIds).stream()
+                            .collect(Collectors.toMap(Group::getId, Function.identity()));
+
+            List<Expense> expenses = new ArrayList<>(chunk.size());
+            for (PendingRow pending : chunk) {
+                try {
+                    expenses.add(toExpense(pending.request(), users, groups));
+                } catch (IllegalArgumentException e) {
+                    reject(pending.row(), e.getMessage());
+                }
+            }
+            chunk.clear();
+
+            if (!expenses.isEmpty()) {
+                mongoTemplate.insert(expenses, Expense.class);
+                expenses.forEach(deltas::addExpense);
+                groupLedgerService.applyExpenses(expenses);
+                imported += expenses.size();
+            }
+            log.info("Import for user {}: {} rows read, {} imported, {} failed",
+                    payer.getId(), rowsRead, imported, failed);
+            onProgress.accept(ExpenseDTOs.ImportResponse.builder()
+                    .rowsRead(rowsRead)
+                    .imported(imported)
+                    .failed(failed)
+                    .build());
+        }
+
+        private Expense toExpense(ExpenseDTOs.CreateExpenseRequest request, Map<String, User> users,
+                                  Map<String, Group> groups) {
+            // Same checks as ExpenseService.createExpense, against the chunk's lookups
+            Group group = null;
+            if (request.getGroupId() != null) {
+                group = groups.get(request.getGroupId());
+                if (group == null) {
+                    throw new IllegalArgumentException("Group not found");
+                }
+                if (!group.isMember(payer.getId())) {
+                    throw new IllegalArgumentException("Payer is not a member of the specified group");
+                }
+            }
+
+            Map<String, User> participants = new HashMap<>();
+            for (ExpenseDTOs.SplitRequest split : request.getSplits()) {
+                User participant = users.get(split.getUserId());
+                if (participant == null || participants.put(participant.getId(), participant) != null) {
+                    throw new IllegalArgumentException("Some participants not found");
+                }
+            }
+            return ExpenseService.buildExpense(payer, group, request, participants);
+        }
+
+        private void finish() {
+            try {
+                flush();
+            } finally {
+                // Everything inserted so far is reflected in friend balances, even if the import stopped early
+                if (!deltas.isEmpty()) {
+                    friendService.applyBalanceDeltas(deltas);
+                }
+            }
+        }
+
+        private String validate(ExpenseDTOs.CreateExpenseRequest request) {
+            List<String> violations = new ArrayList<>();
+            validator.validate(request).forEach(violation -> violations.add(describe(violation)));
+            if (request.getSplits() != null) {
+                request.getSplits().forEach(split ->
+                        validator.validate(split).forEach(violation -> violations.add("splits." + describe(violation))));
+            }
+            return violations.isEmpty() ? null : String.join(", ", violations);
+        }
+
+        private String describe(ConstraintViolation<?> violation) {
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+    }
+}
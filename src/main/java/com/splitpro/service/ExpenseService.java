@@ -1,25 +1,30 @@
 package com.splitpro.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.event.ExpenseChangedEvent;
 import com.splitpro.model.Expense;
 import com.splitpro.model.Group;
 import com.splitpro.model.User;
+import com.splitpro.repository.BalanceDeltas;
 import com.splitpro.repository.ExpenseRepository;
 import com.splitpro.repository.GroupRepository;
-import com.splitpro.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,16 +35,18 @@ import lombok.extern.slf4j.Slf4j;
 public class ExpenseService {
 
     private final ExpenseRepository expenseRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final GroupRepository groupRepository;
     private final FriendService friendService;
+    private final GroupLedgerService groupLedgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Expense createExpense(String payerId, ExpenseDTOs.CreateExpenseRequest request) {
         log.info("Creating expense: {} by user: {}", request.getDescription(), payerId);
         
         // Validate payer exists
-        User payer = userRepository.findById(payerId)
+        User payer = userCache.findById(payerId)
                 .orElseThrow(() -> new IllegalArgumentException("Payer not found"));
         
         // Validate group if specified
@@ -58,149 +65,144 @@ public class ExpenseService {
                 .map(ExpenseDTOs.SplitRequest::getUserId)
                 .collect(Collectors.toList());
         
-        Map<String, User> participants = userRepository.findAllById(participantIds)
-                .stream()
-                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<String, User> participants = userCache.findAllById(participantIds);
         
         if (participants.size() != participantIds.size()) {
             throw new IllegalArgumentException("Some participants not found");
         }
         
-        // Calculate splits
+        // Calculate splits and create expense
+        Expense savedExpense = expenseRepository.save(buildExpense(payer, group, request, participants));
+        
+        // Update friend balances
+        updateBalancesAfterExpense(savedExpense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(savedExpense, ExpenseChangedEvent.Action.CREATED));
+        
+        log.info("Expense created: {} with {} splits", savedExpense.getId(), savedExpense.getSplits().size());
+        return savedExpense;
+    }
+
+    /**
+     * Builds an unsaved expense from a validated request. Shared with {@link ExpenseImportService}.
+     */
+    static Expense buildExpense(User payer, Group group, ExpenseDTOs.CreateExpenseRequest request,
+                                Map<String, User> participants) {
+        // Calculate splits on the total rounded to cents so the splits always add up
+        BigDecimal totalAmount = SplitCalculator.fromCents(SplitCalculator.toCents(request.getTotalAmount()));
         List<Expense.ExpenseSplit> calculatedSplits = calculateSplits(
                 request.getSplits(), 
-                request.getTotalAmount(), 
+                totalAmount, 
                 participants
         );
         
-        // Create expense
-        Expense expense = Expense.builder()
+        LocalDateTime now = LocalDateTime.now();
+        return Expense.builder()
                 .description(request.getDescription())
-                .totalAmount(request.getTotalAmount())
+                .totalAmount(totalAmount)
                 .currency(request.getCurrency())
-                .payerId(payerId)
+                .payerId(payer.getId())
                 .payerName(payer.getName())
                 .groupId(request.getGroupId())
                 .groupName(group != null ? group.getName() : null)
                 .splits(calculatedSplits)
-                .createdAt(LocalDateTime.now())
-                .occurredAt(request.getOccurredAt() != null ? request.getOccurredAt() : LocalDateTime.now())
+                .createdAt(now)
+                .occurredAt(request.getOccurredAt() != null ? request.getOccurredAt() : now)
                 .category(request.getCategory() != null ? request.getCategory() : Expense.ExpenseCategory.GENERAL)
                 .notes(request.getNotes())
                 .active(true)
                 .build();
-        
-        Expense savedExpense = expenseRepository.save(expense);
-        
-        // Update friend balances
-        updateBalancesAfterExpense(savedExpense);
-        
-        log.info("Expense created: {} with {} splits", savedExpense.getId(), calculatedSplits.size());
-        return savedExpense;
     }
 
-    private List<Expense.ExpenseSplit> calculateSplits(
+    private static List<Expense.ExpenseSplit> calculateSplits(
             List<ExpenseDTOs.SplitRequest> splitRequests,
             BigDecimal totalAmount,
             Map<String, User> participants) {
         
-        List<Expense.ExpenseSplit> splits = new ArrayList<>();
-        
-        // Group splits by type for easier calculation
-        Map<Expense.SplitType, List<ExpenseDTOs.SplitRequest>> splitsByType = 
-                splitRequests.stream().collect(Collectors.groupingBy(ExpenseDTOs.SplitRequest::getSplitType));
+        long[] owed = SplitCalculator.calculate(splitRequests, SplitCalculator.toCents(totalAmount));
         
-        BigDecimal remainingAmount = totalAmount;
-        
-        // Handle AMOUNT splits first (fixed amounts)
-        if (splitsByType.containsKey(Expense.SplitType.AMOUNT)) {
-            for (ExpenseDTOs.SplitRequest split : splitsByType.get(Expense.SplitType.AMOUNT)) {
-                BigDecimal amount = split.getSplitValue();
-                if (amount.compareTo(remainingAmount) > 0) {
-                    throw new IllegalArgumentException("Fixed amount splits exceed total expense amount");
-                }
-                
-                User participant = participants.get(split.getUserId());
-                splits.add(Expense.ExpenseSplit.builder()
-                        .userId(split.getUserId())
-                        .userName(participant.getName())
-                        .splitType(Expense.SplitType.AMOUNT)
-                        .splitValue(amount)
-                        .amountOwed(amount)
-                        .build());
-                
-                remainingAmount = remainingAmount.subtract(amount);
-            }
+        List<Expense.ExpenseSplit> splits = new ArrayList<>(owed.length);
+        for (int i = 0; i < owed.length; i++) {
+            ExpenseDTOs.SplitRequest split = splitRequests.get(i);
+            BigDecimal amount = SplitCalculator.fromCents(owed[i]);
+            splits.add(Expense.ExpenseSplit.builder()
+                    .userId(split.getUserId())
+                    .userName(participants.get(split.getUserId()).getName())
+                    .splitType(split.getSplitType())
+                    .splitValue(split.getSplitType() == Expense.SplitType.EQUAL ? amount : split.getSplitValue())
+                    .amountOwed(amount)
+                    .build());
         }
+        return splits;
+    }
+
+    private void updateBalancesAfterExpense(Expense expense) {
+        // All payer/participant deltas go out as one bulk write
+        friendService.applyBalanceDeltas(BalanceDeltas.of(expense));
+        groupLedgerService.applyExpense(expense);
+    }
+
+    public Page<ExpenseDTOs.ExpenseListItem> getUserExpenses(String userId, Pageable pageable) {
+        return expenseRepository.findListItemsByUserInvolvement(userId, pageable);
+    }
+
+    /**
+     * Cursor-paginated feed. The cursor encodes the (createdAt, id) of the last
+     * expense returned, so every page is a bounded index range scan.
+     */
+    public ExpenseDTOs.ExpenseFeedResponse getUserExpenseFeed(String userId, String cursor, int size) {
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
         
-        // Handle PERCENT splits
-        if (splitsByType.containsKey(Expense.SplitType.PERCENT)) {
-            BigDecimal totalPercentage = splitsByType.get(Expense.SplitType.PERCENT)
-                    .stream()
-                    .map(ExpenseDTOs.SplitRequest::getSplitValue)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            if (totalPercentage.compareTo(BigDecimal.valueOf(100)) > 0) {
-                throw new IllegalArgumentException("Percentage splits cannot exceed 100%");
-            }
-            
-            for (ExpenseDTOs.SplitRequest split : splitsByType.get(Expense.SplitType.PERCENT)) {
-                BigDecimal percentage = split.getSplitValue();
-                BigDecimal amount = totalAmount.multiply(percentage)
-                        .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-                
-                User participant = participants.get(split.getUserId());
-                splits.add(Expense.ExpenseSplit.builder()
-                        .userId(split.getUserId())
-                        .userName(participant.getName())
-                        .splitType(Expense.SplitType.PERCENT)
-                        .splitValue(percentage)
-                        .amountOwed(amount)
-                        .build());
-            }
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] position = decodeCursor(cursor);
+            afterCreatedAt = parseCursorTime(position[0]);
+            afterId = position[1];
         }
         
-        // Handle EQUAL splits
-        if (splitsByType.containsKey(Expense.SplitType.EQUAL)) {
-            List<ExpenseDTOs.SplitRequest> equalSplits = splitsByType.get(Expense.SplitType.EQUAL);
-            BigDecimal equalAmount = remainingAmount.divide(
-                    BigDecimal.valueOf(equalSplits.size()), 
-                    2, 
-                    RoundingMode.HALF_UP
-            );
-            
-            for (ExpenseDTOs.SplitRequest split : equalSplits) {
-                User participant = participants.get(split.getUserId());
-                splits.add(Expense.ExpenseSplit.builder()
-                        .userId(split.getUserId())
-                        .userName(participant.getName())
-                        .splitType(Expense.SplitType.EQUAL)
-                        .splitValue(equalAmount)
-                        .amountOwed(equalAmount)
-                        .build());
-            }
+        Slice<ExpenseDTOs.ExpenseListItem> slice = expenseRepository.findFeedPage(userId, afterCreatedAt, afterId, size);
+        List<ExpenseDTOs.ExpenseListItem> expenses = slice.getContent();
+        
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ExpenseDTOs.ExpenseListItem last = expenses.get(expenses.size() - 1);
+            nextCursor = encodeCursor(last.createdAt(), last.id());
         }
         
-        return splits;
+        return ExpenseDTOs.ExpenseFeedResponse.builder()
+                .content(expenses)
+                .nextCursor(nextCursor)
+                .hasNext(slice.hasNext())
+                .size(expenses.size())
+                .build();
     }
 
-    private void updateBalancesAfterExpense(Expense expense) {
-        String payerId = expense.getPayerId();
-        
-        for (Expense.ExpenseSplit split : expense.getSplits()) {
-            if (!split.getUserId().equals(payerId)) {
-                // Participant owes money to the payer
-                friendService.updateBalance(payerId, split.getUserId(), split.getAmountOwed());
+    private static String encodeCursor(LocalDateTime createdAt, String id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
         }
     }
 
-    public Page<ExpenseDTOs.ExpenseResponse> getUserExpenses(String userId, Pageable pageable) {
-        Page<Expense> expenses = expenseRepository.findByUserInvolvement(userId, pageable);
-        return expenses.map(this::toExpenseResponse);
+    private static LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
 
-    public List<ExpenseDTOs.ExpenseResponse> getGroupExpenses(String groupId, String userId) {
+    public List<ExpenseDTOs.ExpenseListItem> getGroupExpenses(String groupId, String userId) {
         // Verify user is member of the group
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new IllegalArgumentException("Group not found"));
@@ -209,10 +211,7 @@ public class ExpenseService {
             throw new IllegalArgumentException("Access denied: Not a group member");
         }
         
-        return expenseRepository.findByGroupIdAndActiveTrue(groupId)
-                .stream()
-                .map(this::toExpenseResponse)
-                .collect(Collectors.toList());
+        return expenseRepository.findListItemsByGroupId(groupId);
     }
 
     public ExpenseDTOs.ExpenseResponse getExpenseDetails(String expenseId, String userId) {
@@ -247,19 +246,14 @@ public class ExpenseService {
         // Mark as deleted
         expense.setActive(false);
         expenseRepository.save(expense);
+        eventPublisher.publishEvent(new ExpenseChangedEvent(expense, ExpenseChangedEvent.Action.DELETED));
         
         log.info("Expense deleted: {} by user: {}", expenseId, userId);
     }
 
     private void reverseBalancesAfterExpense(Expense expense) {
-        String payerId = expense.getPayerId();
-        
-        for (Expense.ExpenseSplit split : expense.getSplits()) {
-            if (!split.getUserId().equals(payerId)) {
-                // Reverse the balance update
-                friendService.updateBalance(payerId, split.getUserId(), split.getAmountOwed().negate());
-            }
-        }
+        friendService.applyBalanceDeltas(BalanceDeltas.of(expense).reversed());
+        groupLedgerService.reverseExpense(expense);
     }
 
     public ExpenseDTOs.ExpenseResponse toExpenseResponse(Expense expense) {
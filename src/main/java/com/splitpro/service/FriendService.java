@@ -4,16 +4,20 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.event.BalancesChangedEvent;
 import com.splitpro.model.Friend;
 import com.splitpro.model.User;
+import com.splitpro.repository.BalanceDeltas;
 import com.splitpro.repository.FriendRepository;
 import com.splitpro.repository.UserRepository;
+import com.splitpro.util.SearchKeys;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +29,10 @@ public class FriendService {
 
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int SEARCH_LIMIT = 20;
 
     @Transactional
     public Friend addFriend(String userId, String friendIdentifier) {
@@ -64,40 +72,28 @@ public class FriendService {
                 .active(true)
                 .build();
         
-        friendRepository.save(friendship1);
-        friendRepository.save(friendship2);
+        // Both directions in one insertMany
+        friendRepository.insert(List.of(friendship1, friendship2));
         
         log.info("Friendship created between {} and {}", userId, friendUser.getId());
         return friendship1;
     }
 
     public List<ExpenseDTOs.FriendResponse> getUserFriends(String userId) {
-        return friendRepository.findByUserIdAndActiveTrue(userId)
-                .stream()
-                .map(this::toFriendResponse)
-                .collect(Collectors.toList());
+        // Read straight into the response; the list needs no other friendship fields
+        return friendRepository.findByUserIdAndActiveTrue(userId, ExpenseDTOs.FriendResponse.class);
     }
 
     public Optional<Friend> getFriendship(String userId, String friendId) {
         return friendRepository.findByUserIdAndFriendIdAndActiveTrue(userId, friendId);
     }
 
-    @Transactional
-    public void updateBalance(String userId, String friendId, BigDecimal amount) {
-        Optional<Friend> friendshipOpt = friendRepository.findByUserIdAndFriendIdAndActiveTrue(userId, friendId);
-        Optional<Friend> reverseFriendshipOpt = friendRepository.findByUserIdAndFriendIdAndActiveTrue(friendId, userId);
-        
-        if (friendshipOpt.isPresent()) {
-            Friend friendship = friendshipOpt.get();
-            friendship.setBalance(friendship.getBalance().add(amount));
-            friendRepository.save(friendship);
-        }
-        
-        if (reverseFriendshipOpt.isPresent()) {
-            Friend reverseFriendship = reverseFriendshipOpt.get();
-            reverseFriendship.setBalance(reverseFriendship.getBalance().subtract(amount));
-            friendRepository.save(reverseFriendship);
-        }
+    /**
+     * Applies every pairwise delta of an operation in one bulk write.
+     */
+    public void applyBalanceDeltas(BalanceDeltas deltas) {
+        friendRepository.applyBalanceDeltas(deltas);
+        eventPublisher.publishEvent(new BalancesChangedEvent(deltas));
     }
 
     @Transactional
@@ -118,32 +114,27 @@ public class FriendService {
                 });
     }
 
+    /**
+     * Typeahead over the user's own friends: every query word must prefix a word of
+     * the friend's name. Served by the friend_search index.
+     */
     public List<ExpenseDTOs.FriendResponse> searchFriends(String userId, String query) {
-        return friendRepository.findByUserIdAndFriendNameContaining(userId, query)
-                .stream()
-                .map(this::toFriendResponse)
-                .collect(Collectors.toList());
-    }
-
-    private ExpenseDTOs.FriendResponse toFriendResponse(Friend friend) {
-        return ExpenseDTOs.FriendResponse.builder()
-                .id(friend.getId())
-                .friendId(friend.getFriendId())
-                .friendName(friend.getFriendName())
-                .friendEmail(friend.getFriendEmail())
-                .balance(friend.getBalance())
-                .createdAt(friend.getCreatedAt())
-                .build();
+        List<String> tokens = SearchKeys.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return friendRepository.searchByUserId(userId, tokens, PageRequest.of(0, SEARCH_LIMIT),
+                ExpenseDTOs.FriendResponse.class);
     }
 
     private String getUserName(String userId) {
-        return userRepository.findById(userId)
+        return userCache.findById(userId)
                 .map(User::getName)
                 .orElse("Unknown User");
     }
 
     private String getUserEmail(String userId) {
-        return userRepository.findById(userId)
+        return userCache.findById(userId)
                 .map(User::getEmail)
                 .orElse("unknown@example.com");
     }
@@ -0,0 +1,173 @@
+package com.splitpro.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.splitpro.model.Expense;
+import com.splitpro.model.Group;
+import com.splitpro.model.GroupLedger;
+import com.splitpro.model.Settlement;
+import com.splitpro.repository.ExpenseRepository;
+import com.splitpro.repository.GroupLedgerRepository;
+import com.splitpro.repository.GroupRepository;
+import com.splitpro.repository.SettlementRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-group balance read model ({@code group_balances}). Writes are
+ * incremental; reads cost one document per group regardless of its expense history.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GroupLedgerService {
+
+    private static final int MAX_REBUILD_ATTEMPTS = 5;
+
+    private final GroupLedgerRepository groupLedgerRepository;
+    private final GroupRepository groupRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SettlementRepository settlementRepository;
+
+    /**
+     * Call after the expense is saved, so a group without a ledger is built with it.
+     */
+    public void applyExpense(Expense expense) {
+        applyExpenses(List.of(expense), 1);
+    }
+
+    /**
+     * Applies many expenses with one update per affected group.
+     */
+    public void applyExpenses(Collection<Expense> expenses) {
+        applyExpenses(expenses, 1);
+    }
+
+    /**
+     * Call after the expense is deactivated.
+     */
+    public void reverseExpense(Expense expense) {
+        applyExpenses(List.of(expense), -1);
+    }
+
+    private void applyExpenses(Collection<Expense> expenses, int direction) {
+        // A group seen for the first time gets its ledger from everything it has, this expense included
+        groupLedgerRepository.applyExpenses(expenses, direction).forEach(this::rebuild);
+    }
+
+    public Optional<GroupLedger> getLedger(String groupId) {
+        return groupLedgerRepository.findById(groupId);
+    }
+
+    public Map<String, GroupLedger> getLedgers(Collection<String> groupIds) {
+        return groupLedgerRepository.findAllById(groupIds)
+                .stream()
+                .collect(Collectors.toMap(GroupLedger::getGroupId, Function.identity()));
+    }
+
+    /**
+     * The user's net position in each of their groups (positive = the group owes them).
+     */
+    public Map<String, BigDecimal> getUserGroupBalances(String userId) {
+        List<String> groupIds = groupRepository.findSummariesByMemberUserId(userId)
+                .stream()
+                .map(GroupRepository.GroupSummary::id)
+                .collect(Collectors.toList());
+        return getUserGroupBalances(userId, groupIds, getLedgers(groupIds));
+    }
+
+    /**
+     * The same positions from ledgers the caller has already loaded; groups without a
+     * ledger have no expenses yet and count as settled.
+     */
+    public Map<String, BigDecimal> getUserGroupBalances(String userId, Collection<String> groupIds,
+                                                        Map<String, GroupLedger> ledgers) {
+        Map<String, BigDecimal> balances = new HashMap<>();
+        for (String groupId : groupIds) {
+            GroupLedger ledger = ledgers.get(groupId);
+            balances.put(groupId, ledger != null ? ledger.getBalance(userId) : BigDecimal.ZERO);
+        }
+        return balances;
+    }
+
+    /**
+     * Recomputes a group's ledger from its active expenses and settlements. The
+     * replace is conditional on the ledger's version, so an {@code $inc} that lands
+     * between reading the history and writing the result makes it read again instead
+     * of being overwritten.
+     */
+    public void rebuild(String groupId) {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            // Version first: any write after this point invalidates what is read below
+            Long version = groupLedgerRepository.findById(groupId).map(GroupLedger::getVersion).orElse(null);
+            if (replaceFromHistory(groupId, version)) {
+                return;
+            }
+            log.debug("Group ledger {} changed during rebuild, retrying (attempt {})", groupId, attempt);
+        }
+        log.warn("Gave up rebuilding group ledger {} after {} concurrent changes", groupId, MAX_REBUILD_ATTEMPTS);
+    }
+
+    private boolean replaceFromHistory(String groupId, Long version) {
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long expenseCount = 0;
+        Map<String, BigDecimal> balances = new HashMap<>();
+
+        for (Expense expense : expenseRepository.findByGroupIdAndActiveTrue(groupId)) {
+            totalAmount = totalAmount.add(expense.getTotalAmount());
+            expenseCount++;
+            if (!expense.isBalanced()) {
+                log.warn("Expense {} splits add up to {}, not its total {}", expense.getId(),
+                        expense.getTotalSplitAmount(), expense.getTotalAmount());
+            }
+            // Same rule as the incremental update: the payer is owed what the splits owe
+            balances.merge(expense.getPayerId(), expense.getTotalSplitAmount(), BigDecimal::add);
+            for (Expense.ExpenseSplit split : expense.getSplits()) {
+                balances.merge(split.getUserId(), split.getAmountOwed().negate(), BigDecimal::add);
+            }
+        }
+
+        for (Settlement settlement : settlementRepository.findByGroupIdAndActiveTrue(groupId)) {
+            balances.merge(settlement.getFromUserId(), settlement.getAmount(), BigDecimal::add);
+            balances.merge(settlement.getToUserId(), settlement.getAmount().negate(), BigDecimal::add);
+        }
+
+        return groupLedgerRepository.replaceLedger(groupId, version, totalAmount, expenseCount, balances);
+    }
+
+    /**
+     * Builds the ledger of every group that has expenses or settlements but no ledger,
+     * e.g. groups created before ledgers existed.
+     */
+    public int rebuildMissing() {
+        Set<String> groupIds = groupLedgerRepository.findGroupIdsWithoutLedger();
+        groupIds.forEach(this::rebuild);
+        if (!groupIds.isEmpty()) {
+            log.info("Built missing group ledgers for {} groups", groupIds.size());
+        }
+        return groupIds.size();
+    }
+
+    /**
+     * Full recovery: rebuilds the ledger of every group.
+     */
+    public int rebuildAll() {
+        List<Group> groups = groupRepository.findAll();
+        for (Group group : groups) {
+            rebuild(group.getId());
+        }
+        log.info("Rebuilt group ledgers for {} groups", groups.size());
+        return groups.size();
+    }
+}
@@ -1,20 +1,31 @@
 package com.splitpro.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.splitpro.dto.ExpenseDTOs;
 import com.splitpro.model.Group;
+import com.splitpro.model.GroupLedger;
+import com.splitpro.model.Settlement;
 import com.splitpro.model.User;
 import com.splitpro.repository.ExpenseRepository;
 import com.splitpro.repository.GroupRepository;
-import com.splitpro.repository.UserRepository;
+import com.splitpro.util.SearchKeys;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,19 +36,21 @@ import lombok.extern.slf4j.Slf4j;
 public class GroupService {
 
     private final GroupRepository groupRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ExpenseRepository expenseRepository;
+    private final GroupLedgerService groupLedgerService;
+
+    private static final int SEARCH_LIMIT = 20;
 
     @Transactional
     public Group createGroup(String creatorId, ExpenseDTOs.CreateGroupRequest request) {
         log.info("Creating group: {} by user: {}", request.getName(), creatorId);
         
-        // Validate all member IDs exist
-        for (String memberId : request.getMemberIds()) {
-            if (!userRepository.existsById(memberId)) {
-                throw new IllegalArgumentException("User not found: " + memberId);
-            }
-        }
+        // Creator and members resolved with one lookup; every unknown id is reported at once
+        Set<String> userIds = new LinkedHashSet<>();
+        userIds.add(creatorId);
+        userIds.addAll(request.getMemberIds());
+        Map<String, User> users = findUsers(userIds);
         
         Group group = Group.builder()
                 .name(request.getName())
@@ -47,18 +60,10 @@ public class GroupService {
                 .active(true)
                 .build();
         
-        // Add creator as first member
-        User creator = userRepository.findById(creatorId)
-                .orElseThrow(() -> new IllegalArgumentException("Creator not found"));
-        
-        group.addMember(creatorId, creator.getName(), creator.getEmail());
-        
-        // Add other members
-        for (String memberId : request.getMemberIds()) {
-            if (!memberId.equals(creatorId)) { // Don't add creator twice
-                User member = userRepository.findById(memberId).orElseThrow();
-                group.addMember(memberId, member.getName(), member.getEmail());
-            }
+        // Creator first, then the other members in request order
+        for (String userId : userIds) {
+            User user = users.get(userId);
+            group.addMember(userId, user.getName(), user.getEmail());
         }
         
         Group savedGroup = groupRepository.save(group);
@@ -67,10 +72,69 @@ public class GroupService {
         return savedGroup;
     }
 
-    public List<ExpenseDTOs.GroupResponse> getUserGroups(String userId) {
-        List<Group> groups = groupRepository.findByMemberUserId(userId);
+    /**
+     * The user's groups in a fixed number of round trips, however many groups there
+     * are: the groups, their creators, their ledgers, and one aggregation for any
+     * group that has no ledger yet.
+     */
+    public List<ExpenseDTOs.GroupListItem> getUserGroups(String userId) {
+        List<GroupRepository.GroupSummary> groups = groupRepository.findSummariesByMemberUserId(userId);
+        return toGroupListItems(groups, getLedgers(groups), userId);
+    }
+
+    /**
+     * The user's groups together with their net position in each, for the dashboard:
+     * both come from one read of the groups and their ledgers.
+     */
+    public UserGroups getUserGroupsWithBalances(String userId) {
+        List<GroupRepository.GroupSummary> groups = groupRepository.findSummariesByMemberUserId(userId);
+        Map<String, GroupLedger> ledgers = getLedgers(groups);
+        List<String> groupIds = groups.stream().map(GroupRepository.GroupSummary::id).collect(Collectors.toList());
+        return new UserGroups(toGroupListItems(groups, ledgers, userId),
+                groupLedgerService.getUserGroupBalances(userId, groupIds, ledgers));
+    }
+
+    public record UserGroups(List<ExpenseDTOs.GroupListItem> groups, Map<String, BigDecimal> balances) {
+    }
+
+    /**
+     * Typeahead over the user's own groups: every query word must prefix a word of
+     * the group name.
+     */
+    public List<ExpenseDTOs.GroupListItem> searchGroups(String userId, String query) {
+        List<String> tokens = SearchKeys.tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<GroupRepository.GroupSummary> groups =
+                groupRepository.searchSummariesByMemberUserId(userId, tokens, PageRequest.of(0, SEARCH_LIMIT));
+        return toGroupListItems(groups, getLedgers(groups), userId);
+    }
+
+    /**
+     * Builds list items in a fixed number of round trips, however many groups there
+     * are: their creators and one aggregation for any group that has no ledger yet.
+     */
+    private List<ExpenseDTOs.GroupListItem> toGroupListItems(List<GroupRepository.GroupSummary> groups,
+                                                             Map<String, GroupLedger> ledgers, String userId) {
+        if (groups.isEmpty()) {
+            return List.of();
+        }
+        Map<String, User> creators = userCache.findAllById(groups.stream()
+                .map(GroupRepository.GroupSummary::createdBy)
+                .collect(Collectors.toSet()));
+        
+        List<String> withoutLedger = groups.stream()
+                .map(GroupRepository.GroupSummary::id)
+                .filter(groupId -> !ledgers.containsKey(groupId))
+                .collect(Collectors.toList());
+        Map<String, ExpenseRepository.GroupExpenseTotals> totals = withoutLedger.isEmpty() ? Map.of()
+                : expenseRepository.sumByGroupIds(withoutLedger).stream()
+                        .collect(Collectors.toMap(ExpenseRepository.GroupExpenseTotals::id, Function.identity()));
+        
         return groups.stream()
-                .map(this::toGroupResponse)
+                .map(group -> toGroupListItem(group, userId, creators.get(group.createdBy()),
+                        ledgers.get(group.id()), totals.get(group.id())))
                 .collect(Collectors.toList());
     }
 
@@ -102,7 +166,7 @@ public class GroupService {
             throw new IllegalArgumentException("User is already a group member");
         }
         
-        User newMember = userRepository.findById(memberId)
+        User newMember = userCache.findById(memberId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
         
         group.addMember(memberId, newMember.getName(), newMember.getEmail());
@@ -110,6 +174,46 @@ public class GroupService {
         return groupRepository.save(group);
     }
 
+    /**
+     * Adds several members with one user lookup and one write. Ids that are already
+     * active members are skipped; removed members are re-activated.
+     */
+    @Transactional
+    public Group addMembersToGroup(String groupId, Collection<String> memberIds, String requesterId) {
+        Group group = getGroup(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Group not found"));
+        
+        if (!group.isMember(requesterId)) {
+            throw new IllegalArgumentException("Access denied: Not a group member");
+        }
+        
+        Map<String, Group.GroupMember> current = new HashMap<>();
+        group.getMembers().forEach(member -> current.put(member.getUserId(), member));
+        
+        Set<String> newMemberIds = new LinkedHashSet<>(memberIds);
+        newMemberIds.removeIf(memberId -> current.containsKey(memberId) && current.get(memberId).isActive());
+        if (newMemberIds.isEmpty()) {
+            return group;
+        }
+        
+        Map<String, User> users = findUsers(newMemberIds);
+        for (String memberId : newMemberIds) {
+            User user = users.get(memberId);
+            Group.GroupMember former = current.get(memberId);
+            if (former != null) {
+                former.setUserName(user.getName());
+                former.setUserEmail(user.getEmail());
+                former.setJoinedAt(LocalDateTime.now());
+                former.setActive(true);
+            } else {
+                group.addMember(memberId, user.getName(), user.getEmail());
+            }
+        }
+        
+        log.info("Added {} members to group {}", newMemberIds.size(), groupId);
+        return groupRepository.save(group);
+    }
+
     @Transactional
     public Group removeMemberFromGroup(String groupId, String memberId, String requesterId) {
         Group group = getGroup(groupId)
@@ -147,18 +251,90 @@ public class GroupService {
         log.info("Group deleted: {} by user: {}", groupId, requesterId);
     }
 
-    public List<ExpenseDTOs.GroupResponse> searchGroups(String userId, String query) {
-        return groupRepository.findByNameContainingIgnoreCase(query)
-                .stream()
-                .filter(group -> group.isMember(userId))
-                .map(this::toGroupResponse)
-                .collect(Collectors.toList());
+    /**
+     * Suggested transfers that settle every balance in the group with as few
+     * payments as possible. Nothing is recorded; these are Settlement-shaped suggestions.
+     */
+    public List<ExpenseDTOs.SettlementResponse> getSettlePlan(String groupId, String userId) {
+        Group group = getGroup(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Group not found"));
+        
+        if (!group.isMember(userId)) {
+            throw new IllegalArgumentException("Access denied: Not a group member");
+        }
+        
+        GroupLedger ledger = groupLedgerService.getLedger(groupId).orElse(null);
+        if (ledger == null || ledger.getBalances().isEmpty()) {
+            return List.of();
+        }
+        
+        // Convert to cents once; the planner itself never touches BigDecimal
+        String[] memberIds = ledger.getBalances().keySet().toArray(new String[0]);
+        long[] netCents = new long[memberIds.length];
+        for (int i = 0; i < memberIds.length; i++) {
+            netCents[i] = ledger.getBalance(memberIds[i])
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .unscaledValue()
+                    .longValueExact();
+        }
+        
+        Map<String, String> memberNames = new HashMap<>();
+        group.getMembers().forEach(member -> memberNames.put(member.getUserId(), member.getUserName()));
+        
+        SettlePlanner.Plan plan = SettlePlanner.plan(netCents);
+        List<ExpenseDTOs.SettlementResponse> suggestions = new ArrayList<>(plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            String fromUserId = memberIds[plan.from(i)];
+            String toUserId = memberIds[plan.to(i)];
+            suggestions.add(ExpenseDTOs.SettlementResponse.builder()
+                    .fromUserId(fromUserId)
+                    .fromUserName(memberNames.getOrDefault(fromUserId, "Unknown User"))
+                    .toUserId(toUserId)
+                    .toUserName(memberNames.getOrDefault(toUserId, "Unknown User"))
+                    .amount(BigDecimal.valueOf(plan.amount(i), 2))
+                    .currency("USD")
+                    .groupId(group.getId())
+                    .groupName(group.getName())
+                    .method(Settlement.SettlementMethod.CASH)
+                    .confirmed(false)
+                    .build());
+        }
+        
+        return suggestions;
+    }
+
+    private Map<String, GroupLedger> getLedgers(List<GroupRepository.GroupSummary> groups) {
+        if (groups.isEmpty()) {
+            return Map.of();
+        }
+        return groupLedgerService.getLedgers(groups.stream()
+                .map(GroupRepository.GroupSummary::id)
+                .collect(Collectors.toList()));
+    }
+
+    private ExpenseDTOs.GroupListItem toGroupListItem(GroupRepository.GroupSummary group, String userId, User creator,
+                                                     GroupLedger ledger, ExpenseRepository.GroupExpenseTotals totals) {
+        long expenseCount = ledger != null ? ledger.getExpenseCount() : totals != null ? totals.count() : 0;
+        BigDecimal totalAmount = ledger != null ? ledger.getTotalAmount() : totals != null ? totals.total() : BigDecimal.ZERO;
+        
+        return new ExpenseDTOs.GroupListItem(
+                group.id(),
+                group.name(),
+                group.description(),
+                group.createdBy(),
+                creator != null ? creator.getName() : "Unknown User",
+                group.activeMemberCount(),
+                group.createdAt(),
+                (int) expenseCount,
+                totalAmount,
+                ledger != null ? ledger.getBalance(userId).negate() : BigDecimal.ZERO);
     }
 
     public ExpenseDTOs.GroupResponse toGroupResponse(Group group) {
-        String creatorName = userRepository.findById(group.getCreatedBy())
-                .map(User::getName)
-                .orElse("Unknown User");
+        String creatorName = getCreatorName(group.getCreatedBy());
+        
+        // Groups without any expense yet have no ledger document
+        GroupLedger ledger = groupLedgerService.getLedger(group.getId()).orElse(null);
         
         List<ExpenseDTOs.GroupMemberResponse> memberResponses = group.getMembers()
                 .stream()
@@ -168,11 +344,15 @@ public class GroupService {
                         .userName(member.getUserName())
                         .userEmail(member.getUserEmail())
                         .joinedAt(member.getJoinedAt())
-                        .balance(BigDecimal.ZERO) // TODO: Calculate actual balances
+                        .balance(ledger != null ? ledger.getBalance(member.getUserId()).negate() : BigDecimal.ZERO)
                         .build())
                 .collect(Collectors.toList());
         
-        long expenseCount = expenseRepository.countByGroupId(group.getId());
+        // Same active-only totals as the list view when the ledger is missing
+        ExpenseRepository.GroupExpenseTotals totals = ledger != null ? null
+                : expenseRepository.sumByGroupIds(List.of(group.getId())).stream().findFirst().orElse(null);
+        long expenseCount = ledger != null ? ledger.getExpenseCount() : totals != null ? totals.count() : 0;
+        BigDecimal totalAmount = ledger != null ? ledger.getTotalAmount() : totals != null ? totals.total() : BigDecimal.ZERO;
         
         return ExpenseDTOs.GroupResponse.builder()
                 .id(group.getId())
@@ -183,7 +363,27 @@ public class GroupService {
                 .members(memberResponses)
                 .createdAt(group.getCreatedAt())
                 .totalExpenses((int) expenseCount)
-                .totalAmount(BigDecimal.ZERO) // TODO: Calculate total amount
+                .totalAmount(totalAmount)
                 .build();
     }
-}
\ No newline at end of file
+
+    private String getCreatorName(String creatorId) {
+        return userCache.findById(creatorId)
+                .map(User::getName)
+                .orElse("Unknown User");
+    }
+
+    /**
+     * Resolves all ids with at most one query, failing with every unknown id listed.
+     */
+    private Map<String, User> findUsers(Collection<String> userIds) {
+        Map<String, User> users = userCache.findAllById(userIds);
+        List<String> missing = userIds.stream()
+                .filter(userId -> !users.containsKey(userId))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Users not found: " + String.join(", ", missing));
+        }
+        return users;
+    }
+}
@@ -3,25 +3,37 @@ package com.splitpro.service;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.splitpro.model.User;
+import com.splitpro.security.VerifiedToken;
+import com.splitpro.security.VerifiedTokenCache;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${splitpro.security.jwt.secret}")
     private String jwtSecret;
 
@@ -33,6 +45,9 @@ public class JwtService {
 
     private SecretKey signingKey;
 
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void init() {
         try {
@@ -42,6 +57,9 @@ public class JwtService {
             }
             
             this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            this.jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build();
             log.info("JWT Service initialized successfully");
         } catch (Exception e) {
             log.error("Failed to initialize JWT Service: {}", e.getMessage());
@@ -53,40 +71,43 @@ public class JwtService {
         return signingKey;
     }
 
-    public String extractUsername(String token) {
+    /**
+     * Parses the token and checks its signature and expiry exactly once.
+     * Tokens seen recently are served from {@link VerifiedTokenCache} without
+     * re-verifying the HMAC. Returns empty for malformed, tampered or expired tokens.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
         try {
-            return extractClaim(token, Claims::getSubject);
-        } catch (Exception e) {
-            log.warn("Failed to extract username from token: {}", e.getMessage());
-            return null;
+            VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+            verifiedTokenCache.put(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token verification failed: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
+    public String extractUsername(String token) {
+        return verify(token).map(VerifiedToken::getSubject).orElse(null);
+    }
+
     public String extractUserId(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("userId", String.class));
-        } catch (Exception e) {
-            log.warn("Failed to extract userId from token: {}", e.getMessage());
-            return null;
-        }
+        return verify(token).map(VerifiedToken::getUserId).orElse(null);
     }
 
     public String extractTokenType(String token) {
-        try {
-            return extractClaim(token, claims -> claims.get("type", String.class));
-        } catch (Exception e) {
-            log.warn("Failed to extract token type: {}", e.getMessage());
-            return null;
-        }
+        return verify(token).map(VerifiedToken::getType).orElse(null);
     }
 
     public Date extractExpiration(String token) {
-        try {
-            return extractClaim(token, Claims::getExpiration);
-        } catch (Exception e) {
-            log.warn("Failed to extract expiration from token: {}", e.getMessage());
-            return null;
-        }
+        return verify(token).map(VerifiedToken::getExpiration).orElse(null);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -100,20 +121,40 @@ public class JwtService {
     }
 
     public String generateAccessToken(UserDetails userDetails, String userId) {
+        String refreshTokenVersion = userDetails instanceof User user ? user.getRefreshTokenVersion() : null;
+        return generateAccessToken(userDetails, userId, refreshTokenVersion);
+    }
+
+    /**
+     * The refresh token version is embedded so requests can be authenticated from the
+     * token alone and revoked by rotating the user's version.
+     */
+    public String generateAccessToken(UserDetails userDetails, String userId, String refreshTokenVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("type", "access");
-        claims.put("authorities", userDetails.getAuthorities());
+        claims.put("authorities", userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        if (refreshTokenVersion != null) {
+            claims.put("refreshTokenVersion", refreshTokenVersion);
+        }
         
         return createToken(claims, userDetails.getUsername(), accessTokenExpiry);
     }
 
+    /**
+     * Refresh tokens carry the same version as access tokens, so rotating the user's
+     * version revokes both; the token id identifies it for single-use rotation.
+     */
     public String generateRefreshToken(UserDetails userDetails, String userId) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("type", "refresh");
-        claims.put("tokenVersion", UUID.randomUUID().toString());
-        
+        if (userDetails instanceof User user && user.getRefreshTokenVersion() != null) {
+            claims.put("refreshTokenVersion", user.getRefreshTokenVersion());
+        }
+
         return createToken(claims, userDetails.getUsername(), refreshTokenExpiry);
     }
 
@@ -138,49 +179,31 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (Exception e) {
-            log.warn("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+        return verify(token)
+                .map(verified -> isTokenValid(verified, userDetails))
+                .orElse(false);
+    }
+
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        String username = token.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     public boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            return expiration != null && expiration.before(new Date());
-        } catch (Exception e) {
-            log.warn("Failed to check token expiration: {}", e.getMessage());
-            return true;
-        }
+        // Expired tokens fail verification, so anything that does not verify counts as expired
+        return verify(token).map(VerifiedToken::isExpired).orElse(true);
     }
 
     public boolean isAccessToken(String token) {
-        try {
-            return "access".equals(extractTokenType(token));
-        } catch (Exception e) {
-            log.warn("Failed to check if token is access token: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            return "refresh".equals(extractTokenType(token));
-        } catch (Exception e) {
-            log.warn("Failed to check if token is refresh token: {}", e.getMessage());
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isRefreshToken).orElse(false);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public long getAccessTokenExpiry() {
@@ -192,11 +215,6 @@ public class JwtService {
     }
 
     public String extractTokenVersion(String refreshToken) {
-        try {
-            return extractClaim(refreshToken, claims -> claims.get("tokenVersion", String.class));
-        } catch (Exception e) {
-            log.warn("Failed to extract token version: {}", e.getMessage());
-            return null;
-        }
+        return verify(refreshToken).map(VerifiedToken::getTokenVersion).orElse(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.splitpro.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.splitpro.repository.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for {@code lastLoginAt}. Successful logins only record the time
+ * in memory; a scheduled flush writes everything pending in one bulk update. Repeated
+ * logins by the same user between flushes cost one write. Nothing security-relevant
+ * depends on this field, so losing at most one flush interval on a crash is fine.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LastLoginRecorder {
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("splitpro.users.last-login.pending", pending, Map::size)
+                .description("lastLoginAt updates waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    public void record(String userId, LocalDateTime lastLoginAt) {
+        pending.merge(userId, lastLoginAt, (previous, next) -> next.isAfter(previous) ? next : previous);
+    }
+
+    @Scheduled(fixedDelayString = "${splitpro.security.last-login.flush-interval:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Take entries one by one so logins recorded during the flush wait for the next one
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        List<String> userIds = new ArrayList<>(pending.keySet());
+        for (String userId : userIds) {
+            LocalDateTime lastLoginAt = pending.remove(userId);
+            if (lastLoginAt != null) {
+                batch.put(userId, lastLoginAt);
+            }
+        }
+
+        try {
+            userRepository.updateLastLoginAt(batch);
+            batch.keySet().forEach(userCache::invalidate);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush lastLoginAt for {} users, retrying next time: {}", batch.size(), e.getMessage());
+            batch.forEach(this::record);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
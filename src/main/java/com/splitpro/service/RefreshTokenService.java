@@ -0,0 +1,263 @@
+package com.splitpro.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.splitpro.model.RevokedToken;
+import com.splitpro.model.User;
+import com.splitpro.security.VerifiedToken;
+import com.splitpro.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Refresh token rotation. Every refresh token is single use: refreshing spends it
+ * by inserting its id into {@code revoked_tokens}, and the duplicate key error of a
+ * second insert is what rejects a replay, on any node. An in-process Bloom filter of
+ * spent ids, rebuilt from Mongo at startup, lets replays be refused without a write
+ * and keeps the normal refresh free of reads: only a filter hit is confirmed against
+ * Mongo, and the user and token version come from the existing caches. Tabs racing
+ * to refresh with the same token share one rotation: for a short grace window the
+ * spent token returns the pair it was exchanged for, on the node that issued it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    private static final long SUCCESSOR_WAIT_SECONDS = 5;
+
+    private final JwtService jwtService;
+    private final UserService userService;
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${splitpro.security.refresh.expected-revocations:1000000}")
+    private long expectedRevocations;
+
+    @Value("${splitpro.security.refresh.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${splitpro.security.refresh.reuse-grace:10000}")
+    private long reuseGraceMillis;
+
+    private volatile BloomFilter revoked;
+
+    /** Token id -> the rotation it triggered, kept for the grace window. */
+    private Cache<String, CompletableFuture<RefreshedSession>> successors;
+
+    private Counter rotated;
+    private Counter rejected;
+    private Counter replayed;
+    private Counter filterHits;
+    private Counter graceReuses;
+
+    public record RefreshedSession(User user, String accessToken, String refreshToken) {
+    }
+
+    @PostConstruct
+    public void init() {
+        rotated = refreshCounter("rotated");
+        rejected = refreshCounter("rejected");
+        replayed = refreshCounter("replayed");
+        graceReuses = refreshCounter("grace-reuse");
+        successors = Caffeine.newBuilder()
+                .expireAfterWrite(reuseGraceMillis, TimeUnit.MILLISECONDS)
+                .build();
+        filterHits = Counter.builder("splitpro.auth.refresh.filter-hits")
+                .description("Refreshes whose token id was in the revocation filter and had to be checked in Mongo")
+                .register(meterRegistry);
+
+        revoked = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Still safe: the insert that spends a token rejects replays without the filter
+            log.warn("Could not load revoked refresh tokens, starting with an empty filter: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the filter from the unexpired revocations. Run periodically because a
+     * Bloom filter cannot forget the ids Mongo has since expired.
+     */
+    @Scheduled(initialDelayString = "${splitpro.security.refresh.rebuild-interval:21600000}",
+            fixedDelayString = "${splitpro.security.refresh.rebuild-interval:21600000}")
+    public void rebuild() {
+        BloomFilter rebuilt = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        Query query = Query.query(Criteria.where("expiresAt").gt(LocalDateTime.now()));
+        query.fields().include("_id");
+        query.cursorBatchSize(CURSOR_BATCH_SIZE);
+
+        long count = 0;
+        try (Stream<Document> ids = mongoTemplate.stream(query, Document.class, "revoked_tokens")) {
+            Iterator<Document> iterator = ids.iterator();
+            while (iterator.hasNext()) {
+                rebuilt.add(String.valueOf(iterator.next().get("_id")));
+                count++;
+            }
+        }
+        // Tokens spent while the cursor ran may be missing here; Mongo still rejects their reuse
+        revoked = rebuilt;
+        if (count > expectedRevocations) {
+            log.warn("{} revoked refresh tokens exceed the filter's expected {}; raise "
+                    + "splitpro.security.refresh.expected-revocations", count, expectedRevocations);
+        }
+        log.info("Revoked refresh token filter rebuilt with {} tokens ({} bits)", count, rebuilt.bitSize());
+    }
+
+    /**
+     * Spends the refresh token and issues a new access and refresh token pair. A token
+     * presented again within the grace window, e.g. by a second tab or a retried
+     * request, gets the pair already issued for it instead of a rejection.
+     *
+     * @throws IllegalArgumentException when the token is invalid, expired or revoked
+     * @throws IllegalStateException    when the token was already used outside the grace window
+     */
+    public RefreshedSession refresh(String refreshToken) {
+        VerifiedToken token = verify(refreshToken);
+
+        // One rotation per token id on this node; concurrent and repeated requests share its result
+        CompletableFuture<RefreshedSession> rotation = new CompletableFuture<>();
+        CompletableFuture<RefreshedSession> existing = successors.asMap().putIfAbsent(token.getTokenId(), rotation);
+        if (existing != null) {
+            RefreshedSession session = awaitSuccessor(existing);
+            // A logout everywhere since then also revokes the pair handed out
+            if (!userService.isCurrentTokenVersion(token.getUserId(), token.getRefreshTokenVersion())) {
+                rejected.increment();
+                throw new IllegalArgumentException("Refresh token has been revoked");
+            }
+            graceReuses.increment();
+            return session;
+        }
+
+        try {
+            RefreshedSession session = rotate(token);
+            rotation.complete(session);
+            return session;
+        } catch (RuntimeException e) {
+            rotation.completeExceptionally(e);
+            successors.asMap().remove(token.getTokenId(), rotation);
+            throw e;
+        }
+    }
+
+    private RefreshedSession rotate(VerifiedToken token) {
+        if (revoked.mightContain(token.getTokenId())) {
+            filterHits.increment();
+            if (mongoTemplate.exists(Query.query(Criteria.where("_id").is(token.getTokenId())), RevokedToken.class)) {
+                replayed.increment();
+                log.warn("Reuse of a spent refresh token for user {}", token.getUserId());
+                throw new IllegalStateException("Refresh token has already been used");
+            }
+        }
+
+        // Logout everywhere and deactivation rotate the version; checked against the cached version
+        if (!userService.isCurrentTokenVersion(token.getUserId(), token.getRefreshTokenVersion())) {
+            rejected.increment();
+            throw new IllegalArgumentException("Refresh token has been revoked");
+        }
+
+        if (!spend(token)) {
+            // Spent on another node; its successor is only known there
+            replayed.increment();
+            log.warn("Concurrent reuse of a refresh token for user {}", token.getUserId());
+            throw new IllegalStateException("Refresh token has already been used");
+        }
+
+        User user = userService.findById(token.getUserId())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        rotated.increment();
+        return new RefreshedSession(user,
+                jwtService.generateAccessToken(user, user.getId()),
+                jwtService.generateRefreshToken(user, user.getId()));
+    }
+
+    private RefreshedSession awaitSuccessor(CompletableFuture<RefreshedSession> rotation) {
+        try {
+            return rotation.get(SUCCESSOR_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Refresh failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for refresh");
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Refresh token is being used by another request");
+        }
+    }
+
+    /**
+     * Spends the refresh token without replacing it, on logout. Invalid or already
+     * spent tokens are ignored.
+     */
+    public void revoke(String refreshToken) {
+        jwtService.verify(refreshToken)
+                .filter(RefreshTokenService::isUsable)
+                .ifPresent(this::spend);
+    }
+
+    private VerifiedToken verify(String refreshToken) {
+        return jwtService.verify(refreshToken)
+                .filter(RefreshTokenService::isUsable)
+                .orElseThrow(() -> {
+                    rejected.increment();
+                    return new IllegalArgumentException("Invalid refresh token");
+                });
+    }
+
+    private static boolean isUsable(VerifiedToken token) {
+        return token.isRefreshToken() && !token.isExpired()
+                && token.getTokenId() != null && token.getUserId() != null;
+    }
+
+    private boolean spend(VerifiedToken token) {
+        RevokedToken revokedToken = RevokedToken.builder()
+                .id(token.getTokenId())
+                .userId(token.getUserId())
+                .expiresAt(LocalDateTime.ofInstant(token.getExpiration().toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build();
+        boolean spent;
+        try {
+            mongoTemplate.insert(revokedToken);
+            spent = true;
+        } catch (DuplicateKeyException e) {
+            spent = false;
+        }
+        revoked.add(token.getTokenId());
+        return spent;
+    }
+
+    private Counter refreshCounter(String outcome) {
+        return Counter.builder("splitpro.auth.refresh")
+                .description("Refresh token requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,227 @@
+package com.splitpro.service;
+
+import java.util.Arrays;
+
+/**
+ * Computes a small set of transfers that settles a group's net balances.
+ * <p>
+ * Works purely on {@code long} minor units (cents) indexed by member position. Groups
+ * with at most {@value #EXACT_LIMIT} non-zero balances are solved exactly: the minimum
+ * number of transfers is {@code n - k}, where {@code k} is the largest number of
+ * disjoint zero-sum subsets, found by a DP over subsets. Larger groups use a greedy
+ * max-creditor/max-debtor heap, which needs at most {@code n - 1} transfers and runs
+ * in {@code O(n log n)}.
+ */
+public final class SettlePlanner {
+
+    static final int EXACT_LIMIT = 14;
+
+    private SettlePlanner() {
+    }
+
+    /**
+     * @param netCents net position per member, positive = the member is owed money
+     */
+    public static Plan plan(long[] netCents) {
+        int[] nonZero = new int[netCents.length];
+        int n = 0;
+        for (int i = 0; i < netCents.length; i++) {
+            if (netCents[i] != 0) {
+                nonZero[n++] = i;
+            }
+        }
+
+        Plan plan = new Plan(Math.max(n - 1, 0));
+        if (n == 0) {
+            return plan;
+        }
+        if (n <= EXACT_LIMIT) {
+            planExact(netCents, Arrays.copyOf(nonZero, n), plan);
+        } else {
+            planGreedy(netCents, nonZero, n, plan);
+        }
+        return plan;
+    }
+
+    private static void planExact(long[] netCents, int[] members, Plan plan) {
+        int n = members.length;
+        int full = (1 << n) - 1;
+        long[] sum = new long[1 << n];
+        int[] chunks = new int[1 << n];
+        int[] lastMember = new int[1 << n];
+
+        for (int mask = 1; mask <= full; mask++) {
+            int low = Integer.numberOfTrailingZeros(mask);
+            sum[mask] = sum[mask & (mask - 1)] + netCents[members[low]];
+
+            // Best ordering of this subset: remove one member, keep the best result for the rest
+            int best = -1;
+            for (int rest = mask; rest != 0; rest &= rest - 1) {
+                int i = Integer.numberOfTrailingZeros(rest);
+                int candidate = chunks[mask ^ (1 << i)];
+                if (candidate > best) {
+                    best = candidate;
+                    lastMember[mask] = i;
+                }
+            }
+            chunks[mask] = best + (sum[mask] == 0 ? 1 : 0);
+        }
+
+        // Walk the optimal ordering backwards; every zero prefix sum closes one subset
+        int[] order = new int[n];
+        for (int mask = full, k = n - 1; mask != 0; k--) {
+            order[k] = lastMember[mask];
+            mask ^= 1 << lastMember[mask];
+        }
+
+        int[] subset = new int[n];
+        int subsetSize = 0;
+        long prefix = 0;
+        for (int k = 0; k < n; k++) {
+            int member = members[order[k]];
+            subset[subsetSize++] = member;
+            prefix += netCents[member];
+            if (prefix == 0 || k == n - 1) {
+                planGreedy(netCents, subset, subsetSize, plan);
+                subsetSize = 0;
+            }
+        }
+    }
+
+    private static void planGreedy(long[] netCents, int[] members, int count, Plan plan) {
+        long[] remaining = new long[netCents.length];
+        IndexHeap creditors = new IndexHeap(count, remaining);
+        IndexHeap debtors = new IndexHeap(count, remaining);
+
+        for (int k = 0; k < count; k++) {
+            int member = members[k];
+            long net = netCents[member];
+            remaining[member] = Math.abs(net);
+            if (net > 0) {
+                creditors.push(member);
+            } else if (net < 0) {
+                debtors.push(member);
+            }
+        }
+
+        while (!creditors.isEmpty() && !debtors.isEmpty()) {
+            int creditor = creditors.pop();
+            int debtor = debtors.pop();
+            long amount = Math.min(remaining[creditor], remaining[debtor]);
+
+            plan.add(debtor, creditor, amount);
+            remaining[creditor] -= amount;
+            remaining[debtor] -= amount;
+
+            if (remaining[creditor] > 0) {
+                creditors.push(creditor);
+            }
+            if (remaining[debtor] > 0) {
+                debtors.push(debtor);
+            }
+        }
+    }
+
+    /**
+     * Transfers as parallel primitive arrays: member {@code from(i)} pays
+     * {@code amount(i)} cents to member {@code to(i)}.
+     */
+    public static final class Plan {
+
+        private int[] from;
+        private int[] to;
+        private long[] amounts;
+        private int size;
+
+        private Plan(int expectedSize) {
+            int capacity = Math.max(expectedSize, 1);
+            this.from = new int[capacity];
+            this.to = new int[capacity];
+            this.amounts = new long[capacity];
+        }
+
+        private void add(int fromMember, int toMember, long amount) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+            from[size] = fromMember;
+            to[size] = toMember;
+            amounts[size] = amount;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int from(int i) {
+            return from[i];
+        }
+
+        public int to(int i) {
+            return to[i];
+        }
+
+        public long amount(int i) {
+            return amounts[i];
+        }
+    }
+
+    /**
+     * Binary max-heap of member indexes ordered by their remaining amount.
+     */
+    private static final class IndexHeap {
+
+        private final int[] heap;
+        private final long[] keys;
+        private int size;
+
+        private IndexHeap(int capacity, long[] keys) {
+            this.heap = new int[capacity];
+            this.keys = keys;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void push(int member) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[heap[parent]] >= keys[member]) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = member;
+        }
+
+        private int pop() {
+            int top = heap[0];
+            int last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[heap[child + 1]] > keys[heap[child]]) {
+                    child++;
+                }
+                if (keys[last] >= keys[heap[child]]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+    }
+}
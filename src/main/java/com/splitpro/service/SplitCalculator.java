@@ -0,0 +1,233 @@
+package com.splitpro.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+
+/**
+ * Split engine working in {@code long} minor units (cents).
+ * <p>
+ * AMOUNT shares are taken first, then PERCENT shares of the total. Whatever is left,
+ * minus any ADJUSTMENT add-ons, is divided by weight: EQUAL and ADJUSTMENT count as one
+ * share, SHARES as {@code splitValue} shares. Rounded cents are handed out with the
+ * largest-remainder method (ties go to the earlier split), so a fully allocated
+ * expense always adds up to the total, e.g. $100 / 3 = 33.34 + 33.33 + 33.33.
+ */
+public final class SplitCalculator {
+
+    private static final long PERCENT_SCALE = 100_00; // percentages in hundredths of a percent
+    private static final long WEIGHT_SCALE = 100;     // shares in hundredths of a share
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    // Remainders below this still fit next to the index in one long
+    private static final long MAX_PACKED_WHOLE = Long.MAX_VALUE >>> INDEX_BITS;
+
+    private SplitCalculator() {
+    }
+
+    /**
+     * @return the amount owed by each split, in cents, in request order
+     */
+    public static long[] calculate(List<ExpenseDTOs.SplitRequest> requests, long totalCents) {
+        int n = requests.size();
+        if (n > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many participants");
+        }
+
+        long[] owed = new long[n];
+        long[] percent = new long[n];
+        long[] weight = new long[n];
+        long fixedSum = 0;
+        long percentSum = 0;
+        long weightSum = 0;
+        long adjustmentSum = 0;
+        int percentCount = 0;
+        int weightCount = 0;
+
+        // Single classification pass; no intermediate collections
+        for (int i = 0; i < n; i++) {
+            ExpenseDTOs.SplitRequest request = requests.get(i);
+            Expense.SplitType type = request.getSplitType();
+            switch (type) {
+                case AMOUNT -> {
+                    owed[i] = toCents(requiredValue(request));
+                    if (owed[i] < 0) {
+                        throw new IllegalArgumentException("Split amounts cannot be negative");
+                    }
+                    fixedSum = add(fixedSum, owed[i]);
+                }
+                case PERCENT -> {
+                    percent[i] = toCents(requiredValue(request));
+                    if (percent[i] < 0) {
+                        throw new IllegalArgumentException("Split percentages cannot be negative");
+                    }
+                    percentSum = add(percentSum, percent[i]);
+                    percentCount++;
+                }
+                case EQUAL -> {
+                    weight[i] = WEIGHT_SCALE;
+                    weightSum += WEIGHT_SCALE;
+                    weightCount++;
+                }
+                case SHARES -> {
+                    weight[i] = toCents(requiredValue(request));
+                    if (weight[i] <= 0) {
+                        throw new IllegalArgumentException("Shares must be positive");
+                    }
+                    weightSum = add(weightSum, weight[i]);
+                    weightCount++;
+                }
+                case ADJUSTMENT -> {
+                    // The adjustment is added on top of an equal share of what remains
+                    owed[i] = toCents(requiredValue(request));
+                    adjustmentSum = add(adjustmentSum, owed[i]);
+                    weight[i] = WEIGHT_SCALE;
+                    weightSum += WEIGHT_SCALE;
+                    weightCount++;
+                }
+                default -> throw new IllegalArgumentException("Unsupported split type: " + type);
+            }
+        }
+
+        if (fixedSum > totalCents) {
+            throw new IllegalArgumentException("Fixed amount splits exceed total expense amount");
+        }
+        if (percentSum > PERCENT_SCALE) {
+            throw new IllegalArgumentException("Percentage splits cannot exceed 100%");
+        }
+
+        long percentTarget = 0;
+        if (percentCount > 0) {
+            percentTarget = divideHalfUp(multiply(totalCents, percentSum), PERCENT_SCALE);
+            allocate(owed, percent, PERCENT_SCALE, totalCents, percentTarget, percentCount);
+        }
+
+        long pool = totalCents - fixedSum - percentTarget - adjustmentSum;
+        if (pool < 0 && (weightCount > 0 || fixedSum + percentTarget > totalCents)) {
+            throw new IllegalArgumentException("Splits exceed total expense amount");
+        }
+        if (weightCount > 0) {
+            allocate(owed, weight, weightSum, pool, pool, weightCount);
+        }
+
+        // A negative adjustment larger than its equal share would leave someone owing less than nothing
+        for (long amount : owed) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Adjustments cannot make a split negative");
+            }
+        }
+        return owed;
+    }
+
+    /**
+     * Adds {@code amount * parts[i] / whole} to {@code owed[i]} for every split with a
+     * non-zero part, then distributes the cents needed to reach {@code target} to the
+     * largest remainders.
+     */
+    private static void allocate(long[] owed, long[] parts, long whole, long amount, long target, int count) {
+        if (whole > MAX_PACKED_WHOLE) {
+            allocateUnpacked(owed, parts, whole, amount, target);
+            return;
+        }
+        long[] remainders = new long[count];
+        int k = 0;
+        long allocated = 0;
+
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i] == 0) {
+                continue;
+            }
+            long exact = multiply(amount, parts[i]);
+            long share = exact / whole;
+            owed[i] += share;
+            allocated += share;
+            // Remainder in the high bits, inverted index in the low bits: sorting ascending
+            // puts the largest remainder last and, among equals, the earliest split last
+            remainders[k++] = ((exact % whole) << INDEX_BITS) | (INDEX_MASK - i);
+        }
+
+        long leftover = target - allocated;
+        if (leftover <= 0) {
+            return;
+        }
+        Arrays.sort(remainders, 0, k);
+        for (int j = k - 1; j >= 0 && leftover > 0; j--, leftover--) {
+            owed[(int) (INDEX_MASK - (remainders[j] & INDEX_MASK))]++;
+        }
+    }
+
+    /**
+     * {@link #allocate} for weights too large to pack a remainder and an index into a
+     * long; same result, sorted with a comparator instead.
+     */
+    private static void allocateUnpacked(long[] owed, long[] parts, long whole, long amount, long target) {
+        List<long[]> remainders = new ArrayList<>();
+        long allocated = 0;
+
+        for (int i = 0; i < parts.length; i++) {
+            if (parts[i] == 0) {
+                continue;
+            }
+            long exact = multiply(amount, parts[i]);
+            long share = exact / whole;
+            owed[i] += share;
+            allocated += share;
+            remainders.add(new long[] {exact % whole, i});
+        }
+
+        long leftover = target - allocated;
+        if (leftover <= 0) {
+            return;
+        }
+        // Largest remainder first, earliest split first among equals
+        remainders.sort(Comparator.<long[]>comparingLong(r -> -r[0]).thenComparingLong(r -> r[1]));
+        for (int j = 0; j < remainders.size() && leftover > 0; j++, leftover--) {
+            owed[(int) remainders.get(j)[1]]++;
+        }
+    }
+
+    public static long toCents(BigDecimal value) {
+        try {
+            return value.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is too large");
+        }
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static BigDecimal requiredValue(ExpenseDTOs.SplitRequest request) {
+        if (request.getSplitValue() == null) {
+            throw new IllegalArgumentException("Split value is required for " + request.getSplitType() + " splits");
+        }
+        return request.getSplitValue();
+    }
+
+    private static long multiply(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is too large");
+        }
+    }
+
+    private static long add(long a, long b) {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount is too large");
+        }
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        return (dividend + divisor / 2) / divisor;
+    }
+}
@@ -0,0 +1,138 @@
+package com.splitpro.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.splitpro.model.User;
+import com.splitpro.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-through near-cache of {@link User} documents by id (Caffeine, W-TinyLFU eviction).
+ * Cached instances are shared between requests and must be treated as read-only;
+ * anything that modifies a user must write through {@link #save(User)} or call
+ * {@link #invalidate(String)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${splitpro.cache.users.max-size:10000}")
+    private long maxSize;
+
+    @Value("${splitpro.cache.users.ttl:600000}")
+    private long ttlMillis;
+
+    /**
+     * Async so that loads are race-free without running them inside the map: a load
+     * first registers an incomplete future, then reads Mongo on the caller's thread
+     * and completes it. An invalidate that lands meanwhile removes the future for good,
+     * and no map lock is held during the read (which would pin a virtual thread).
+     */
+    private AsyncCache<String, User> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+        log.info("User cache initialized (max size: {}, ttl: {} ms)", maxSize, ttlMillis);
+    }
+
+    public Optional<User> findById(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        CompletableFuture<User> cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.ofNullable(cached.join());
+        }
+        return load(userId, false);
+    }
+
+    /**
+     * Reads the user from Mongo even when cached, and caches what it read. For checks
+     * that must not trust an entry for the full TTL.
+     */
+    public Optional<User> reload(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return load(userId, true);
+    }
+
+    private Optional<User> load(String userId, boolean replace) {
+        CompletableFuture<User> loading = new CompletableFuture<>();
+        if (replace) {
+            cache.put(userId, loading);
+        } else {
+            CompletableFuture<User> existing = cache.asMap().putIfAbsent(userId, loading);
+            if (existing != null) {
+                // Someone else is loading it; share their read
+                return Optional.ofNullable(existing.join());
+            }
+        }
+        try {
+            User user = userRepository.findById(userId).orElse(null);
+            // A null or failed future is dropped by the cache, so unknown ids are not cached
+            loading.complete(user);
+            return Optional.ofNullable(user);
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves all ids with at most one {@code findAllById} for the misses.
+     * Unknown ids are simply absent from the result. {@code getAll} registers
+     * placeholders for the misses and calls the loader outside the map, like
+     * {@link #load}.
+     */
+    public Map<String, User> findAllById(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return new HashMap<>(cache.getAll(userIds, (missing, executor) -> {
+            Map<String, User> loaded = new HashMap<>();
+            userRepository.findAllById(new ArrayList<>(missing)).forEach(user -> loaded.put(user.getId(), user));
+            return CompletableFuture.completedFuture(loaded);
+        }).join());
+    }
+
+    public User save(User user) {
+        User saved = userRepository.save(user);
+        invalidate(saved.getId());
+        return saved;
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.synchronous().invalidate(userId);
+        }
+    }
+}
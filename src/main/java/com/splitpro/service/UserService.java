@@ -3,18 +3,25 @@ package com.splitpro.service;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.splitpro.dto.AuthDTOs;
 import com.splitpro.model.User;
 import com.splitpro.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -24,7 +31,36 @@ import lombok.extern.slf4j.Slf4j;
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final PasswordHashingService passwordHashingService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final MeterRegistry meterRegistry;
+
+    // Sentinel for users that no longer exist or are deactivated
+    private static final String REVOKED = "";
+
+    @Value("${splitpro.security.jwt.version-check-ttl:30000}")
+    private long versionCheckTtlMillis;
+
+    /**
+     * userId -> current refresh token version. Lets stateless authentication check
+     * revocation without a Mongo round trip per request; the TTL bounds how long a
+     * rotation made on another node can go unnoticed. Loaded like {@link UserCache}:
+     * a placeholder future first, the read outside the map, so an invalidate during
+     * the read wins and no map lock is held across it.
+     */
+    private AsyncCache<String, String> tokenVersions;
+
+    @PostConstruct
+    public void init() {
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(versionCheckTtlMillis, TimeUnit.MILLISECONDS)
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenVersions, "user.token-versions");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -52,7 +88,7 @@ public class UserService implements UserDetailsService {
                 .name(signupRequest.getName())
                 .email(signupRequest.getEmail())
                 .phone(signupRequest.getPhone())
-                .passwordHash(passwordEncoder.encode(signupRequest.getPassword()))
+                .passwordHash(passwordHashingService.encode(signupRequest.getPassword()))
                 .refreshTokenVersion(UUID.randomUUID().toString())
                 .active(true)
                 .emailVerified(false)
@@ -62,7 +98,7 @@ public class UserService implements UserDetailsService {
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        User savedUser = userRepository.save(user);
+        User savedUser = userCache.save(user);
         log.info("User registered successfully: {}", savedUser.getId());
         
         return savedUser;
@@ -74,33 +110,44 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByEmailOrPhone(loginRequest.getIdentifier())
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
+        boolean wasLocked = user.isAccountLocked();
         if (!user.isAccountNonLocked()) {
             throw new IllegalArgumentException("Account is temporarily locked due to multiple failed login attempts");
         }
+        if (wasLocked) {
+            // The lock has expired: clear it and its count before this attempt is counted
+            userRepository.resetFailedLogins(user.getId());
+            userCache.invalidate(user.getId());
+        }
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPasswordHash())) {
             handleFailedLogin(user);
             throw new IllegalArgumentException("Invalid credentials");
         }
 
+        if (user.getFailedLoginAttempts() > 0) {
+            userRepository.resetFailedLogins(user.getId());
+            userCache.invalidate(user.getId());
+        }
+        // lastLoginAt is written behind; a clean login needs no write of its own
         user.resetFailedLoginAttempts();
-        userRepository.save(user);
+        lastLoginRecorder.record(user.getId(), user.getLastLoginAt());
         
         log.info("User authenticated successfully: {}", user.getId());
         return user;
     }
 
-    @Transactional
     public void handleFailedLogin(User user) {
-        user.incrementFailedLoginAttempts();
-        userRepository.save(user);
+        // Counted in the database so concurrent failures cannot overwrite each other
+        int attempts = userRepository.recordFailedLogin(user.getId(), User.MAX_FAILED_LOGIN_ATTEMPTS,
+                LocalDateTime.now().plus(User.LOCKOUT_DURATION));
+        userCache.invalidate(user.getId());
         
-        log.warn("Failed login attempt for user: {}. Attempts: {}", 
-                user.getId(), user.getFailedLoginAttempts());
+        log.warn("Failed login attempt for user: {}. Attempts: {}", user.getId(), attempts);
     }
 
     public Optional<User> findById(String userId) {
-        return userRepository.findById(userId);
+        return userCache.findById(userId);
     }
 
     public Optional<User> findByIdentifier(String identifier) {
@@ -111,7 +158,8 @@ public class UserService implements UserDetailsService {
     public void rotateRefreshToken(String userId) {
         userRepository.findById(userId).ifPresent(user -> {
             user.setRefreshTokenVersion(UUID.randomUUID().toString());
-            userRepository.save(user);
+            userCache.save(user);
+            tokenVersions.synchronous().invalidate(userId);
             log.debug("Refresh token rotated for user: {}", userId);
         });
     }
@@ -122,6 +170,36 @@ public class UserService implements UserDetailsService {
                 .orElse(false);
     }
 
+    /**
+     * Revocation check for stateless authentication: true while the version embedded
+     * in an access token is still the user's current one.
+     */
+    public boolean isCurrentTokenVersion(String userId, String tokenVersion) {
+        CompletableFuture<String> cached = tokenVersions.getIfPresent(userId);
+        String current = cached != null ? cached.join() : loadTokenVersion(userId);
+        return !current.equals(REVOKED) && current.equals(tokenVersion);
+    }
+
+    private String loadTokenVersion(String userId) {
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        CompletableFuture<String> existing = tokenVersions.asMap().putIfAbsent(userId, loading);
+        if (existing != null) {
+            return existing.join();
+        }
+        try {
+            // Fresh from Mongo so the TTL bound holds; refreshes the user cache with the same read
+            String version = userCache.reload(userId)
+                    .filter(User::isEnabled)
+                    .map(User::getRefreshTokenVersion)
+                    .orElse(REVOKED);
+            loading.complete(version);
+            return version;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
     public AuthDTOs.UserResponse toUserResponse(User user) {
         return AuthDTOs.UserResponse.builder()
                 .id(user.getId())
@@ -0,0 +1,61 @@
+package com.splitpro.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix keys for indexed typeahead search. Names are lowercased, stripped of
+ * accents and split into words; every prefix of every word becomes a key, so
+ * "Émile Roy" is found by "em", "emile r" or "roy". A query matches a document
+ * when each of its words is one of the document's keys ({@code $all}).
+ */
+public final class SearchKeys {
+
+    /** Longer words are indexed (and queried) by their first characters only. */
+    public static final int MAX_PREFIX_LENGTH = 15;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchKeys() {
+    }
+
+    public static List<String> of(String... values) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String word : words(value)) {
+                for (int length = 1; length <= word.length(); length++) {
+                    keys.add(word.substring(0, length));
+                }
+            }
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /**
+     * Normalized words of a search query, or an empty list if it has none.
+     */
+    public static List<String> tokens(String query) {
+        return new ArrayList<>(new LinkedHashSet<>(words(query)));
+    }
+
+    private static List<String> words(String value) {
+        List<String> words = new ArrayList<>();
+        if (value == null) {
+            return words;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : SEPARATORS.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word.length() > MAX_PREFIX_LENGTH ? word.substring(0, MAX_PREFIX_LENGTH) : word);
+            }
+        }
+        return words;
+    }
+}
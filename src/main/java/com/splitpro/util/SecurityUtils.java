@@ -3,6 +3,8 @@ package com.splitpro.util;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import com.splitpro.model.User;
+import com.splitpro.security.AuthenticatedUser;
 import com.splitpro.service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,9 +20,18 @@ public class SecurityUtils {
             throw new IllegalStateException("User not authenticated");
         }
 
+        // The principal already carries the id on both authentication paths
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getUserId();
+        }
+        if (principal instanceof User user) {
+            return user.getId();
+        }
+
         String username = authentication.getName();
         return userService.findByIdentifier(username)
                 .map(user -> user.getId())
                 .orElseThrow(() -> new IllegalStateException("User not found: " + username));
     }
-}
\ No newline at end of file
+}
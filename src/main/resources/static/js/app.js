@@ -34,7 +34,26 @@ async function apiFetch(url, options = {}) {
         }
     }
 
-    return fetch(url, opts);
+    const response = await fetch(url, opts);
+    // An expired access token is renewed once from the refresh cookie, then the request retried
+    if (response.status === 401 && !url.startsWith('/api/auth/') && await refreshSession()) {
+        return fetch(url, opts);
+    }
+    return response;
+}
+
+// Concurrent 401s in this tab share one refresh; each refresh token can only be used once.
+// 409 means another tab or node spent the token first and its response set the new cookies.
+let refreshInFlight = null;
+
+function refreshSession() {
+    if (!refreshInFlight) {
+        refreshInFlight = fetch('/api/auth/refresh', { method: 'POST', credentials: 'include' })
+            .then(response => response.ok || response.status === 409)
+            .catch(() => false)
+            .finally(() => { refreshInFlight = null; });
+    }
+    return refreshInFlight;
 }
 
 class SplitProApp {
@@ -195,10 +214,15 @@ class SplitProApp {
 
     async checkAuthStatus() {
         try {
-            const response = await apiFetch('/api/auth/me'); // GET -> no CSRF header required
+            // One round trip for the user and every list; a 401 means signed out
+            const response = await apiFetch('/api/dashboard'); // GET -> no CSRF header required
             if (response.ok) {
-                this.currentUser = await response.json();
+                const dashboard = await response.json();
+                this.currentUser = dashboard.user;
                 this.updateUIForLoggedInUser();
+                this.renderFriends(dashboard.friends);
+                this.renderGroups(dashboard.groups);
+                this.renderHistory(dashboard.recentExpenses.content);
             } else {
                 this.updateUIForLoggedOutUser();
             }
@@ -466,6 +490,7 @@ class SplitProApp {
 
         if (authButtons) authButtons.style.display = 'none';
         if (userDropdown) userDropdown.style.display = 'block';
+        this.connectEventStream();
         
         if (userInitials && this.currentUser && this.currentUser.name) {
             const initials = this.currentUser.name
@@ -483,6 +508,30 @@ class SplitProApp {
 
         if (authButtons) authButtons.style.display = 'flex';
         if (userDropdown) userDropdown.style.display = 'none';
+        this.disconnectEventStream();
+    }
+
+    // Live updates: refresh the open section when someone else changes our data
+    connectEventStream() {
+        if (this.eventStream || typeof EventSource === 'undefined') return;
+
+        this.eventStream = new EventSource('/api/stream');
+        ['expense', 'balance'].forEach(type => {
+            this.eventStream.addEventListener(type, () => this.scheduleSectionRefresh());
+        });
+    }
+
+    disconnectEventStream() {
+        if (this.eventStream) {
+            this.eventStream.close();
+            this.eventStream = null;
+        }
+    }
+
+    scheduleSectionRefresh() {
+        // One expense produces several events; reload once per burst
+        clearTimeout(this.refreshTimer);
+        this.refreshTimer = setTimeout(() => this.loadSectionData(this.currentSection), 500);
     }
 
     async handleSupportForm(e) {
@@ -659,25 +708,7 @@ class SplitProApp {
         try {
             const response = await apiFetch('/api/friends'); // GET
             if (response.ok) {
-                const friends = await response.json();
-                const friendsList = document.getElementById('friendsList');
-                
-                if (friends.length === 0) {
-                    friendsList.innerHTML = '<p class="empty-state">No friends added yet. Add your first friend to get started!</p>';
-                } else {
-                    friendsList.innerHTML = friends.map(friend => `
-                        <div class="friend-card">
-                            <div class="friend-info">
-                                <h3>${friend.friendName}</h3>
-                                <p>${friend.friendEmail}</p>
-                            </div>
-                            <div class="friend-balance ${friend.balance >= 0 ? 'positive' : 'negative'}">
-                                ${friend.balance >= 0 ? 'Owes you' : 'You owe'} $${Math.abs(friend.balance).toFixed(2)}
-                            </div>
-                            <button class="btn btn-outline" onclick="window.app.removeFriend('${friend.friendId}')">Remove</button>
-                        </div>
-                    `).join('');
-                }
+                this.renderFriends(await response.json());
             } else {
                 this.showError('Failed to load friends');
             }
@@ -690,26 +721,7 @@ class SplitProApp {
         try {
             const response = await apiFetch('/api/groups'); // GET
             if (response.ok) {
-                const groups = await response.json();
-                const groupsList = document.getElementById('groupsList');
-                
-                if (groups.length === 0) {
-                    groupsList.innerHTML = '<p class="empty-state">No groups created yet. Create your first group to start splitting expenses!</p>';
-                } else {
-                    groupsList.innerHTML = groups.map(group => `
-                        <div class="group-card">
-                            <div class="group-info">
-                                <h3>${group.name}</h3>
-                                <p>${group.description || 'No description'}</p>
-                                <small>Created by ${group.createdByName} • ${group.members.length} members</small>
-                            </div>
-                            <div class="group-stats">
-                                <span>${group.totalExpenses} expenses</span>
-                                <span>$${group.totalAmount.toFixed(2)} total</span>
-                            </div>
-                        </div>
-                    `).join('');
-                }
+                this.renderGroups(await response.json());
             } else {
                 this.showError('Failed to load groups');
             }
@@ -722,25 +734,7 @@ class SplitProApp {
         try {
             const response = await apiFetch('/api/expenses?page=0&size=20'); // GET
             if (response.ok) {
-                const result = await response.json();
-                const historyList = document.getElementById('historyList');
-                
-                if (!result.content || result.content.length === 0) {
-                    historyList.innerHTML = '<p class="empty-state">No transactions yet. Add an expense to see your history!</p>';
-                } else {
-                    historyList.innerHTML = result.content.map(expense => `
-                        <div class="history-item">
-                            <div class="expense-info">
-                                <h4>${expense.description}</h4>
-                                <p>Paid by ${expense.payerName} • $${expense.totalAmount.toFixed(2)}</p>
-                                <small>${new Date(expense.createdAt).toLocaleDateString()}</small>
-                            </div>
-                            <div class="expense-category">
-                                ${expense.category}
-                            </div>
-                        </div>
-                    `).join('');
-                }
+                this.renderHistory((await response.json()).content);
             } else {
                 this.showError('Failed to load transaction history');
             }
@@ -749,6 +743,70 @@ class SplitProApp {
         }
     }
 
+    renderFriends(friends) {
+        const friendsList = document.getElementById('friendsList');
+        
+        if (friends.length === 0) {
+            friendsList.innerHTML = '<p class="empty-state">No friends added yet. Add your first friend to get started!</p>';
+        } else {
+            friendsList.innerHTML = friends.map(friend => `
+                <div class="friend-card">
+                    <div class="friend-info">
+                        <h3>${friend.friendName}</h3>
+                        <p>${friend.friendEmail}</p>
+                    </div>
+                    <div class="friend-balance ${friend.balance >= 0 ? 'positive' : 'negative'}">
+                        ${friend.balance >= 0 ? 'Owes you' : 'You owe'} $${Math.abs(friend.balance).toFixed(2)}
+                    </div>
+                    <button class="btn btn-outline" onclick="window.app.removeFriend('${friend.friendId}')">Remove</button>
+                </div>
+            `).join('');
+        }
+    }
+
+    renderGroups(groups) {
+        const groupsList = document.getElementById('groupsList');
+        
+        if (groups.length === 0) {
+            groupsList.innerHTML = '<p class="empty-state">No groups created yet. Create your first group to start splitting expenses!</p>';
+        } else {
+            groupsList.innerHTML = groups.map(group => `
+                <div class="group-card">
+                    <div class="group-info">
+                        <h3>${group.name}</h3>
+                        <p>${group.description || 'No description'}</p>
+                        <small>Created by ${group.createdByName} • ${group.memberCount} members</small>
+                    </div>
+                    <div class="group-stats">
+                        <span>${group.totalExpenses} expenses</span>
+                        <span>$${group.totalAmount.toFixed(2)} total</span>
+                    </div>
+                </div>
+            `).join('');
+        }
+    }
+
+    renderHistory(expenses) {
+        const historyList = document.getElementById('historyList');
+        
+        if (!expenses || expenses.length === 0) {
+            historyList.innerHTML = '<p class="empty-state">No transactions yet. Add an expense to see your history!</p>';
+        } else {
+            historyList.innerHTML = expenses.map(expense => `
+                <div class="history-item">
+                    <div class="expense-info">
+                        <h4>${expense.description}</h4>
+                        <p>Paid by ${expense.payerName} • $${expense.totalAmount.toFixed(2)}</p>
+                        <small>${new Date(expense.createdAt).toLocaleDateString()}</small>
+                    </div>
+                    <div class="expense-category">
+                        ${expense.category}
+                    </div>
+                </div>
+            `).join('');
+        }
+    }
+
     // Utility Methods
     showModal(modalId) {
         const modal = document.getElementById(modalId);
@@ -0,0 +1,89 @@
+package com.splitpro.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.splitpro.model.Expense;
+
+class BalanceDeltasTest {
+
+    @Test
+    void expenseMakesEachParticipantOweThePayer() {
+        Expense expense = expense("alice",
+                split("alice", "10.00"), split("bob", "10.00"), split("carol", "5.50"));
+
+        assertThat(pairs(BalanceDeltas.of(expense))).containsExactly(
+                "alice|bob 10.00",
+                "alice|carol 5.50");
+    }
+
+    @Test
+    void oppositeDirectionsNetOut() {
+        BalanceDeltas deltas = new BalanceDeltas();
+        deltas.add("bob", "alice", new BigDecimal("7.00"));
+        deltas.add("alice", "bob", new BigDecimal("3.00"));
+
+        // Alice still owes bob 4.00, reported in the pair's canonical order with the sign flipped
+        assertThat(pairs(deltas)).containsExactly("alice|bob -4.00");
+        assertThat(deltas.size()).isEqualTo(1);
+    }
+
+    @Test
+    void fullyNettedPairsAreSkippedAndEmpty() {
+        BalanceDeltas deltas = new BalanceDeltas();
+        deltas.add("alice", "bob", new BigDecimal("5.00"));
+        deltas.add("bob", "alice", new BigDecimal("5.00"));
+
+        assertThat(pairs(deltas)).isEmpty();
+        assertThat(deltas.isEmpty()).isTrue();
+    }
+
+    @Test
+    void zeroAndNullAmountsAreIgnored() {
+        BalanceDeltas deltas = new BalanceDeltas();
+        deltas.add("alice", "bob", BigDecimal.ZERO);
+        deltas.add("alice", "carol", null);
+
+        assertThat(deltas.size()).isZero();
+        assertThat(deltas.isEmpty()).isTrue();
+    }
+
+    @Test
+    void reversedUndoesTheOriginal() {
+        Expense expense = expense("carol", split("alice", "12.34"), split("bob", "1.00"));
+        BalanceDeltas deltas = BalanceDeltas.of(expense);
+        BalanceDeltas reversed = deltas.reversed();
+
+        assertThat(pairs(deltas)).containsExactly(
+                "alice|carol -12.34",
+                "bob|carol -1.00");
+        assertThat(pairs(reversed)).containsExactly(
+                "alice|carol 12.34",
+                "bob|carol 1.00");
+    }
+
+    private static List<String> pairs(BalanceDeltas deltas) {
+        List<String> pairs = new ArrayList<>();
+        deltas.forEach((creditorId, debtorId, amount) -> pairs.add(creditorId + "|" + debtorId + " " + amount.toPlainString()));
+        return pairs;
+    }
+
+    private static Expense expense(String payerId, Expense.ExpenseSplit... splits) {
+        return Expense.builder()
+                .payerId(payerId)
+                .splits(new ArrayList<>(List.of(splits)))
+                .build();
+    }
+
+    private static Expense.ExpenseSplit split(String userId, String amountOwed) {
+        return Expense.ExpenseSplit.builder()
+                .userId(userId)
+                .amountOwed(new BigDecimal(amountOwed))
+                .build();
+    }
+}
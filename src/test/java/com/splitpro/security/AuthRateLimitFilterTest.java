@@ -0,0 +1,92 @@
+package com.splitpro.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AuthRateLimitFilter(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "identifierRequestsPerMinute", 2);
+        ReflectionTestUtils.setField(filter, "ipRequestsPerMinute", 100);
+        ReflectionTestUtils.setField(filter, "maxKeys", 1_000L);
+        filter.init();
+    }
+
+    @Test
+    void bodyIsReplayedToTheController() throws Exception {
+        List<String> bodies = new ArrayList<>();
+
+        filter.doFilter(login("Alice@Example.com"), new MockHttpServletResponse(),
+                (request, response) -> bodies.add(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertThat(bodies).containsExactly("{\"identifier\":\"Alice@Example.com\"}");
+    }
+
+    @Test
+    void replayedBodySupportsNonBlockingReads() throws Exception {
+        List<String> events = new ArrayList<>();
+
+        filter.doFilter(login("alice@example.com"), new MockHttpServletResponse(), (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data:" + new String(in.readAllBytes(), StandardCharsets.UTF_8).length());
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done:" + in.isFinished());
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        });
+
+        assertThat(events).containsExactly("data:" + "{\"identifier\":\"alice@example.com\"}".length(), "done:true");
+    }
+
+    @Test
+    void identifierIsLimitedAcrossCaseAndWhitespace() throws Exception {
+        filter.doFilter(login("alice@example.com"), new MockHttpServletResponse(), (request, response) -> { });
+        filter.doFilter(login(" ALICE@example.com "), new MockHttpServletResponse(), (request, response) -> { });
+
+        MockHttpServletResponse throttled = new MockHttpServletResponse();
+        filter.doFilter(login("alice@example.com"), throttled, (request, response) -> { });
+
+        assertThat(throttled.getStatus()).isEqualTo(429);
+        assertThat(throttled.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+    }
+
+    private static MockHttpServletRequest login(String identifier) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setServletPath("/api/auth/login");
+        request.setContentType("application/json");
+        request.setContent(("{\"identifier\":\"" + identifier + "\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,57 @@
+package com.splitpro.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketLimiterTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenThrottles() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        long wait = limiter.tryAcquire("alice");
+
+        // One token refills every 12 seconds
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(12));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 100);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void newKeysShareAnOverflowBucketAtCapacityWithoutResettingLiveBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 2);
+        assertThat(limiter.tryAcquire("victim")).isZero();
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+        assertThat(limiter.tryAcquire("junk-1")).isZero();
+
+        // Table full: the first newcomer takes the shared token, the rest wait for it
+        assertThat(limiter.tryAcquire("newcomer")).isZero();
+        for (int i = 2; i < 100; i++) {
+            assertThat(limiter.tryAcquire("junk-" + i)).isPositive();
+        }
+
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+    }
+
+    @Test
+    void nonPositiveSettingsAreRejected() {
+        assertThatThrownBy(() -> new TokenBucketLimiter(0, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter(-1, 100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketLimiter(5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
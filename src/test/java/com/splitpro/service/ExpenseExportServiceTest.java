@@ -0,0 +1,94 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ExpenseExportServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ExpenseExportService exportService = new ExpenseExportService(mongoTemplate, new ObjectMapper());
+
+    @Test
+    void formulaLikeTextIsNeutralisedInCsv() throws Exception {
+        stream(expense("=HYPERLINK(\"http://evil\",\"x\")", "+1+1", "@SUM(A1)", "-2+3"));
+
+        String csv = export(ExpenseExportService.Format.CSV);
+
+        assertThat(csv).contains("'=HYPERLINK(", "'+1+1", "'@SUM(A1)", "'-2+3");
+        assertThat(csv).doesNotContain(",=", ",+", ",@", ",-2");
+    }
+
+    @Test
+    void plainTextAndAmountsAreUnchanged() throws Exception {
+        stream(expense("Dinner", "Flat", "Alice", "Paid in cash"));
+
+        String csv = export(ExpenseExportService.Format.CSV);
+
+        assertThat(csv.lines().skip(1)).singleElement().asString()
+                .contains(",Dinner,", ",Alice,Flat,", "12.50", "Paid in cash")
+                .doesNotContain("'");
+    }
+
+    @Test
+    void csvTextPrefixesEveryFormulaTrigger() {
+        for (String value : List.of("=1", "+1", "-1", "@1", "\t1", "\r1")) {
+            assertThat(ExpenseExportService.csvText(value)).isEqualTo("'" + value);
+        }
+        assertThat(ExpenseExportService.csvText("1-1")).isEqualTo("1-1");
+        assertThat(ExpenseExportService.csvText("")).isEmpty();
+        assertThat(ExpenseExportService.csvText(null)).isNull();
+    }
+
+    @Test
+    void ndjsonKeepsTextAsEntered() throws Exception {
+        stream(expense("=1+1", "Flat", "Alice", null));
+
+        String ndjson = export(ExpenseExportService.Format.NDJSON);
+
+        assertThat(ndjson).contains("\"description\":\"=1+1\"");
+    }
+
+    private void stream(Document... expenses) {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("expenses")))
+                .thenReturn(Stream.of(expenses));
+    }
+
+    private String export(ExpenseExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export("user-1", null, null, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Document expense(String description, String groupName, String payerName, String notes) {
+        return new Document("_id", "expense-1")
+                .append("occurredAt", new Date(0))
+                .append("createdAt", new Date(0))
+                .append("description", description)
+                .append("currency", "USD")
+                .append("totalAmount", new Decimal128(new BigDecimal("12.50")))
+                .append("payerId", "user-1")
+                .append("payerName", payerName)
+                .append("groupName", groupName)
+                .append("notes", notes)
+                .append("splits", List.of(new Document("userId", "user-1")
+                        .append("amountOwed", new Decimal128(new BigDecimal("6.25")))));
+    }
+}
@@ -0,0 +1,113 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense;
+import com.splitpro.model.User;
+import com.splitpro.repository.BalanceDeltas;
+import com.splitpro.repository.GroupRepository;
+
+import jakarta.validation.Validator;
+
+class ExpenseImportServiceTest {
+
+    private static final User ALICE = User.builder().id("alice").name("Alice").build();
+    private static final User BOB = User.builder().id("bob").name("Bob").build();
+
+    private final Validator validator = mock(Validator.class);
+    private final UserCache userCache = mock(UserCache.class);
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final FriendService friendService = mock(FriendService.class);
+    private final GroupLedgerService groupLedgerService = mock(GroupLedgerService.class);
+    private final ExpenseImportService importService = new ExpenseImportService(new ObjectMapper().findAndRegisterModules(),
+            validator, userCache, mock(GroupRepository.class), mongoTemplate, friendService, groupLedgerService);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        when(validator.validate(any())).thenReturn(Set.of());
+        when(userCache.findById("alice")).thenReturn(Optional.of(ALICE));
+        when(userCache.findAllById(anyCollection())).thenReturn(Map.of("alice", ALICE, "bob", BOB));
+    }
+
+    @Test
+    void reportsProgressAfterEveryChunk() {
+        List<ExpenseDTOs.ImportResponse> progress = new ArrayList<>();
+
+        ExpenseDTOs.ImportResponse summary = importService.importExpenses("alice",
+                ndjson(row("Lunch"), row("Taxi"), row("Cinema")), ExpenseImportService.Format.NDJSON, progress::add);
+
+        assertThat(progress).extracting(ExpenseDTOs.ImportResponse::getImported).containsExactly(2, 3);
+        assertThat(progress).noneMatch(ExpenseDTOs.ImportResponse::isDone);
+        assertThat(summary.isDone()).isTrue();
+        assertThat(summary.getImported()).isEqualTo(3);
+        assertThat(summary.getFailed()).isZero();
+    }
+
+    @Test
+    void malformedInputStopsTheImportWithAnErrorRow() {
+        ExpenseDTOs.ImportResponse summary = importService.importExpenses("alice",
+                ndjson(row("Lunch"), "{\"description\": "), ExpenseImportService.Format.NDJSON);
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getFailed()).isEqualTo(1);
+        assertThat(summary.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).startsWith("Unreadable input"));
+    }
+
+    @Test
+    void databaseFailuresAreNotReportedAsBadInput() {
+        when(mongoTemplate.insert(anyList(), eq(Expense.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThatThrownBy(() -> importService.importExpenses("alice",
+                ndjson(row("Lunch"), row("Taxi")), ExpenseImportService.Format.NDJSON))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    @Test
+    void balancesCoverRowsInsertedBeforeAFailure() {
+        when(mongoTemplate.insert(anyList(), eq(Expense.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        assertThatThrownBy(() -> importService.importExpenses("alice",
+                ndjson(row("Lunch"), row("Taxi"), row("Cinema")), ExpenseImportService.Format.NDJSON))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(friendService).applyBalanceDeltas(any(BalanceDeltas.class));
+    }
+
+    private static String row(String description) {
+        return "{\"description\":\"" + description + "\",\"totalAmount\":20,\"currency\":\"USD\","
+                + "\"splits\":[{\"userId\":\"alice\",\"splitType\":\"EQUAL\"},{\"userId\":\"bob\",\"splitType\":\"EQUAL\"}]}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
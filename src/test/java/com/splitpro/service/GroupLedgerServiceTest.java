@@ -0,0 +1,103 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.splitpro.model.Expense;
+import com.splitpro.model.GroupLedger;
+import com.splitpro.model.Settlement;
+import com.splitpro.repository.ExpenseRepository;
+import com.splitpro.repository.GroupLedgerRepository;
+import com.splitpro.repository.SettlementRepository;
+
+class GroupLedgerServiceTest {
+
+    private static final String GROUP_ID = "group-1";
+
+    private final GroupLedgerRepository groupLedgerRepository = mock(GroupLedgerRepository.class);
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final SettlementRepository settlementRepository = mock(SettlementRepository.class);
+    private final GroupLedgerService groupLedgerService =
+            new GroupLedgerService(groupLedgerRepository, null, expenseRepository, settlementRepository);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuiltBalancesNetToZero() {
+        when(groupLedgerRepository.findById(GROUP_ID)).thenReturn(Optional.empty());
+        when(expenseRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of(
+                expense("alice", "30.00", split("alice", "10.00"), split("bob", "10.00"), split("carol", "10.00")),
+                // Legacy expense whose splits do not cover its total
+                expense("bob", "50.00", split("alice", "20.00"), split("carol", "20.00"))));
+        when(settlementRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of(
+                Settlement.builder().fromUserId("carol").toUserId("bob").amount(new BigDecimal("15.00")).build()));
+        when(groupLedgerRepository.replaceLedger(eq(GROUP_ID), isNull(), any(), anyLong(), any())).thenReturn(true);
+
+        groupLedgerService.rebuild(GROUP_ID);
+
+        ArgumentCaptor<Map<String, BigDecimal>> balances = ArgumentCaptor.forClass(Map.class);
+        verify(groupLedgerRepository).replaceLedger(eq(GROUP_ID), isNull(), eq(new BigDecimal("80.00")), eq(2L),
+                balances.capture());
+        assertThat(balances.getValue().values().stream().reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("0");
+        assertThat(balances.getValue().get("alice")).isEqualByComparingTo("0.00");
+        assertThat(balances.getValue().get("bob")).isEqualByComparingTo("15.00");
+        assertThat(balances.getValue().get("carol")).isEqualByComparingTo("-15.00");
+    }
+
+    @Test
+    void rebuildRetriesWhenTheLedgerChangedMeanwhile() {
+        when(groupLedgerRepository.findById(GROUP_ID))
+                .thenReturn(Optional.of(GroupLedger.builder().groupId(GROUP_ID).version(3).build()))
+                .thenReturn(Optional.of(GroupLedger.builder().groupId(GROUP_ID).version(4).build()));
+        when(expenseRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of());
+        when(settlementRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of());
+        when(groupLedgerRepository.replaceLedger(eq(GROUP_ID), eq(3L), any(), anyLong(), any())).thenReturn(false);
+        when(groupLedgerRepository.replaceLedger(eq(GROUP_ID), eq(4L), any(), anyLong(), any())).thenReturn(true);
+
+        groupLedgerService.rebuild(GROUP_ID);
+
+        verify(expenseRepository, times(2)).findByGroupIdAndActiveTrue(GROUP_ID);
+        verify(groupLedgerRepository).replaceLedger(eq(GROUP_ID), eq(4L), any(), anyLong(), any());
+    }
+
+    @Test
+    void rebuildGivesUpAfterRepeatedConflicts() {
+        when(groupLedgerRepository.findById(GROUP_ID)).thenReturn(Optional.empty());
+        when(expenseRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of());
+        when(settlementRepository.findByGroupIdAndActiveTrue(GROUP_ID)).thenReturn(List.of());
+        when(groupLedgerRepository.replaceLedger(eq(GROUP_ID), isNull(), any(), anyLong(), any())).thenReturn(false);
+
+        groupLedgerService.rebuild(GROUP_ID);
+
+        verify(groupLedgerRepository, times(5)).replaceLedger(eq(GROUP_ID), isNull(), any(), anyLong(), any());
+    }
+
+    private static Expense expense(String payerId, String total, Expense.ExpenseSplit... splits) {
+        return Expense.builder()
+                .payerId(payerId)
+                .groupId(GROUP_ID)
+                .totalAmount(new BigDecimal(total))
+                .splits(new ArrayList<>(List.of(splits)))
+                .build();
+    }
+
+    private static Expense.ExpenseSplit split(String userId, String amountOwed) {
+        return Expense.ExpenseSplit.builder().userId(userId).amountOwed(new BigDecimal(amountOwed)).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SettlePlannerTest {
+
+    @Test
+    void settledGroupNeedsNoTransfers() {
+        SettlePlanner.Plan plan = SettlePlanner.plan(new long[] {0, 0, 0});
+
+        assertThat(plan.size()).isZero();
+    }
+
+    @Test
+    void singleDebtIsOneTransfer() {
+        long[] net = {2_500, -2_500};
+        SettlePlanner.Plan plan = SettlePlanner.plan(net);
+
+        assertThat(plan.size()).isEqualTo(1);
+        assertThat(plan.from(0)).isEqualTo(1);
+        assertThat(plan.to(0)).isEqualTo(0);
+        assertThat(plan.amount(0)).isEqualTo(2_500);
+    }
+
+    @Test
+    void exactPlanUsesDisjointZeroSumGroups() {
+        // {+10, -10} and {+7, -3, -4} settle separately: 1 + 2 transfers instead of 4
+        long[] net = {1_000, 700, -300, -1_000, -400};
+        SettlePlanner.Plan plan = SettlePlanner.plan(net);
+
+        assertSettles(net, plan);
+        assertThat(plan.size()).isEqualTo(3);
+    }
+
+    @Test
+    void zeroBalancesAreSkipped() {
+        long[] net = {0, 500, 0, -500, 0};
+        SettlePlanner.Plan plan = SettlePlanner.plan(net);
+
+        assertSettles(net, plan);
+        assertThat(plan.size()).isEqualTo(1);
+        assertThat(plan.from(0)).isEqualTo(3);
+        assertThat(plan.to(0)).isEqualTo(1);
+    }
+
+    @Test
+    void largeGroupsSettleWithinMembersMinusOneTransfers() {
+        long[] net = randomBalances(new Random(42), 200);
+        SettlePlanner.Plan plan = SettlePlanner.plan(net);
+
+        assertSettles(net, plan);
+        assertThat(plan.size()).isLessThanOrEqualTo(net.length - 1);
+    }
+
+    @Test
+    void randomSmallGroupsAlwaysSettle() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            long[] net = randomBalances(random, 2 + random.nextInt(SettlePlanner.EXACT_LIMIT - 1));
+            SettlePlanner.Plan plan = SettlePlanner.plan(net);
+
+            assertSettles(net, plan);
+            assertThat(plan.size()).isLessThanOrEqualTo(net.length - 1);
+        }
+    }
+
+    // Every transfer is positive and applying them all brings each member to zero
+    private static void assertSettles(long[] net, SettlePlanner.Plan plan) {
+        long[] remaining = net.clone();
+        for (int i = 0; i < plan.size(); i++) {
+            assertThat(plan.amount(i)).isPositive();
+            remaining[plan.from(i)] += plan.amount(i);
+            remaining[plan.to(i)] -= plan.amount(i);
+        }
+        assertThat(remaining).containsOnly(0L);
+    }
+
+    private static long[] randomBalances(Random random, int members) {
+        long[] net = new long[members];
+        long sum = 0;
+        for (int i = 0; i < members - 1; i++) {
+            net[i] = random.nextInt(20_001) - 10_000;
+            sum += net[i];
+        }
+        net[members - 1] = -sum;
+        return net;
+    }
+}
@@ -0,0 +1,141 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.splitpro.dto.ExpenseDTOs;
+import com.splitpro.model.Expense.SplitType;
+
+class SplitCalculatorTest {
+
+    @Test
+    void equalSplitHandsRemainderToEarliestSplits() {
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.EQUAL, null),
+                split(SplitType.EQUAL, null), split(SplitType.EQUAL, null)), 10_000);
+
+        assertThat(owed).containsExactly(3334, 3333, 3333);
+    }
+
+    @Test
+    void largestRemainderWinsOverEarlierSplit() {
+        // 1.00 by shares 1:2 -> 33.33.. and 66.66..; the larger remainder gets the cent
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.SHARES, "1"),
+                split(SplitType.SHARES, "2")), 100);
+
+        assertThat(owed).containsExactly(33, 67);
+    }
+
+    @Test
+    void mixedSplitsAddUpToTotal() {
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.AMOUNT, "10.00"),
+                split(SplitType.PERCENT, "33.33"), split(SplitType.EQUAL, null),
+                split(SplitType.SHARES, "2"), split(SplitType.ADJUSTMENT, "1.50")), 12_345);
+
+        assertThat(Arrays.stream(owed).sum()).isEqualTo(12_345);
+        assertThat(owed[0]).isEqualTo(1_000);
+        assertThat(owed[1]).isEqualTo(4_115);
+    }
+
+    @Test
+    void percentagesUpToOneHundredAreAccepted() {
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.PERCENT, "60"),
+                split(SplitType.PERCENT, "40")), 10_000);
+
+        assertThat(owed).containsExactly(6_000, 4_000);
+    }
+
+    @Test
+    void percentagesAboveOneHundredAreRejected() {
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.PERCENT, "100.01"),
+                split(SplitType.EQUAL, null)), 10_000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("100%");
+    }
+
+    @Test
+    void percentageOverflowOffsetByNegativeAdjustmentIsRejected() {
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.PERCENT, "150"),
+                split(SplitType.ADJUSTMENT, "-60")), 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void negativeAdjustmentBelowEqualShareIsRejected() {
+        // -20 / +20 on 10.00 would be [-15.00, 25.00]
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.ADJUSTMENT, "-20"),
+                split(SplitType.ADJUSTMENT, "20")), 1_000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("negative");
+    }
+
+    @Test
+    void negativeAdjustmentWithinEqualShareIsAccepted() {
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.ADJUSTMENT, "-2"),
+                split(SplitType.ADJUSTMENT, "2")), 1_000);
+
+        assertThat(owed).containsExactly(300, 700);
+    }
+
+    @Test
+    void hugeShareWeightsStillDistributeRemainder() {
+        // Weights too large to pack remainder and index into one long
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.SHARES, "1000000000000"),
+                split(SplitType.SHARES, "1000000000000"), split(SplitType.SHARES, "1000000000000")), 10_000);
+
+        assertThat(owed).containsExactly(3334, 3333, 3333);
+    }
+
+    @Test
+    void hugeShareWeightsFavourLargestRemainder() {
+        long[] owed = SplitCalculator.calculate(splits(split(SplitType.SHARES, "1000000000000"),
+                split(SplitType.SHARES, "2000000000000")), 100);
+
+        assertThat(owed).containsExactly(33, 67);
+    }
+
+    @Test
+    void weightsThatOverflowAreRejected() {
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.SHARES, "90000000000000000"),
+                split(SplitType.SHARES, "90000000000000000")), 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fixedAmountsAboveTotalAreRejected() {
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.AMOUNT, "60"),
+                split(SplitType.AMOUNT, "50")), 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void missingValueIsRejected() {
+        assertThatThrownBy(() -> SplitCalculator.calculate(splits(split(SplitType.PERCENT, null)), 10_000))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("required");
+    }
+
+    @Test
+    void centsRoundHalfUp() {
+        assertThat(SplitCalculator.toCents(new BigDecimal("10.005"))).isEqualTo(1_001);
+        assertThat(SplitCalculator.fromCents(1_001)).isEqualByComparingTo("10.01");
+    }
+
+    private static List<ExpenseDTOs.SplitRequest> splits(ExpenseDTOs.SplitRequest... splits) {
+        return new ArrayList<>(Arrays.asList(splits));
+    }
+
+    private static ExpenseDTOs.SplitRequest split(SplitType type, String value) {
+        ExpenseDTOs.SplitRequest split = new ExpenseDTOs.SplitRequest();
+        split.setUserId("user-" + System.identityHashCode(split));
+        split.setSplitType(type);
+        split.setSplitValue(value != null ? new BigDecimal(value) : null);
+        return split;
+    }
+}
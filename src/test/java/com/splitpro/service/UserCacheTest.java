@@ -0,0 +1,109 @@
+package com.splitpro.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.splitpro.model.User;
+import com.splitpro.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userCache, "ttlMillis", 60_000L);
+        userCache.init();
+    }
+
+    @Test
+    void hitsDoNotReadMongo() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1", "v1")));
+
+        userCache.findById("u1");
+        userCache.findById("u1");
+
+        verify(userRepository, times(1)).findById("u1");
+    }
+
+    @Test
+    void unknownUsersAreNotCached() {
+        when(userRepository.findById("ghost")).thenReturn(Optional.empty());
+
+        assertThat(userCache.findById("ghost")).isEmpty();
+        assertThat(userCache.findById("ghost")).isEmpty();
+
+        verify(userRepository, times(2)).findById("ghost");
+    }
+
+    @Test
+    void invalidateDuringLoadIsNotUndone() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        when(userRepository.findById("u1"))
+                .thenAnswer(invocation -> {
+                    reading.countDown();
+                    invalidated.await(5, TimeUnit.SECONDS);
+                    return Optional.of(user("u1", "before"));
+                })
+                .thenReturn(Optional.of(user("u1", "after")));
+
+        CompletableFuture<Optional<User>> load = CompletableFuture.supplyAsync(() -> userCache.findById("u1"));
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+        // The write that this invalidate follows happened after the read above started
+        userCache.invalidate("u1");
+        invalidated.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).map(User::getRefreshTokenVersion).contains("before");
+        assertThat(userCache.findById("u1")).map(User::getRefreshTokenVersion).contains("after");
+    }
+
+    @Test
+    void reloadReadsMongoAndRefreshesTheEntry() {
+        when(userRepository.findById("u1"))
+                .thenReturn(Optional.of(user("u1", "v1")))
+                .thenReturn(Optional.of(user("u1", "v2")));
+
+        userCache.findById("u1");
+        assertThat(userCache.reload("u1")).map(User::getRefreshTokenVersion).contains("v2");
+        assertThat(userCache.findById("u1")).map(User::getRefreshTokenVersion).contains("v2");
+
+        verify(userRepository, times(2)).findById("u1");
+    }
+
+    @Test
+    void bulkLookupOnlyReadsMisses() {
+        when(userRepository.findById("u1")).thenReturn(Optional.of(user("u1", "v1")));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user("u2", "v1")));
+
+        userCache.findById("u1");
+
+        assertThat(userCache.findAllById(List.of("u1", "u2", "ghost"))).containsOnlyKeys("u1", "u2");
+        verify(userRepository).findAllById(argThat(ids -> ids instanceof List<?> list
+                && list.size() == 2 && list.containsAll(List.of("u2", "ghost"))));
+    }
+
+    private static User user(String id, String tokenVersion) {
+        return User.builder().id(id).name(id).refreshTokenVersion(tokenVersion).build();
+    }
+}
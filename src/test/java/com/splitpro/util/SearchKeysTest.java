@@ -0,0 +1,62 @@
+package com.splitpro.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchKeysTest {
+
+    @Test
+    void everyPrefixOfEveryWordIsAKey() {
+        assertThat(SearchKeys.of("Ann Lee")).containsExactly("a", "an", "ann", "l", "le", "lee");
+    }
+
+    @Test
+    void keysAreLowercased() {
+        assertThat(SearchKeys.of("BOB")).containsExactly("b", "bo", "bob");
+        assertThat(SearchKeys.tokens("BoB")).containsExactly("bob");
+    }
+
+    @Test
+    void accentsAreStripped() {
+        assertThat(SearchKeys.of("Émile")).containsExactly("e", "em", "emi", "emil", "emile");
+        assertThat(SearchKeys.tokens("Zoë Núñez")).containsExactly("zoe", "nunez");
+    }
+
+    @Test
+    void punctuationAndWhitespaceSplitWords() {
+        assertThat(SearchKeys.tokens("  o'brien-smith,\tjr.  ")).containsExactly("o", "brien", "smith", "jr");
+        assertThat(SearchKeys.tokens("flat 2B")).containsExactly("flat", "2b");
+    }
+
+    @Test
+    void longWordsAreCappedAtMaxPrefixLength() {
+        String word = "abcdefghijklmnopqrstuvwxyz";
+
+        assertThat(SearchKeys.tokens(word)).containsExactly(word.substring(0, SearchKeys.MAX_PREFIX_LENGTH));
+        assertThat(SearchKeys.of(word))
+                .hasSize(SearchKeys.MAX_PREFIX_LENGTH)
+                .allSatisfy(key -> assertThat(key.length()).isLessThanOrEqualTo(SearchKeys.MAX_PREFIX_LENGTH));
+    }
+
+    @Test
+    void longQueryStillMatchesCappedKeys() {
+        String name = "Supercalifragilistic Holiday";
+
+        assertThat(SearchKeys.of(name)).containsAll(SearchKeys.tokens("supercalifragilistic hol"));
+    }
+
+    @Test
+    void sharedPrefixesAndRepeatedWordsAreKeptOnce() {
+        assertThat(SearchKeys.of("Ann Anna", "ann")).containsExactly("a", "an", "ann", "anna");
+        assertThat(SearchKeys.tokens("ann ANN")).containsExactly("ann");
+    }
+
+    @Test
+    void blankAndNullValuesHaveNoKeys() {
+        assertThat(SearchKeys.of((String) null)).isEmpty();
+        assertThat(SearchKeys.of("  -- ")).isEmpty();
+        assertThat(SearchKeys.tokens(null)).isEmpty();
+        assertThat(SearchKeys.tokens("!!")).isEmpty();
+    }
+}